@@ -24,5 +24,6 @@ plugins {
     alias(libs.plugins.errorprone) apply false
     alias(libs.plugins.nullaway) apply false
     alias(libs.plugins.intellij.platform) apply false
+    alias(libs.plugins.jmh) apply false
     alias(libs.plugins.spotless) apply false
 }
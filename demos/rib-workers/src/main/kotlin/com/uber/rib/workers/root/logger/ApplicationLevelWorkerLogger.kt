@@ -16,68 +16,49 @@
 package com.uber.rib.workers.root.logger
 
 import android.util.Log
+import com.uber.rib.core.RibActionEmitter
 import com.uber.rib.core.RibActionEmitterType
-import com.uber.rib.core.RibActionInfo
-import com.uber.rib.core.RibActionState
+import com.uber.rib.core.RibActionTracer
+import com.uber.rib.core.RibEventType
 import com.uber.rib.core.RibEvents
-import java.lang.System.currentTimeMillis
-import java.util.concurrent.ConcurrentHashMap
-import kotlinx.coroutines.DelicateCoroutinesApi
-import kotlinx.coroutines.GlobalScope
-import kotlinx.coroutines.launch
-import kotlinx.coroutines.rx2.asFlow
+import com.uber.rib.core.TraceSectionRibActionTracer
+import com.uber.rib.core.ribActionName
+import java.util.concurrent.TimeUnit
 
 /**
- * Sample of consuming [ribActionEvents] possibilities.
- * 1. Can pipe Interactor/Router/Presenter/Worker information to backend
+ * Sample of consuming [RibActionTracer] possibilities.
+ * 1. Can pipe Interactor/Router/Presenter/Worker durations to backend
  * 2. Could report expensive workers on Ui thread and crash on Debug builds for early detection
- * 3. More tailored aggregation if needed.
+ * 3. RIB actions show up as trace sections in Perfetto through [TraceSectionRibActionTracer]
  *
- * IMPORTANT: Given logic at [logWorkerDuration] will be running upon
+ * IMPORTANT: Given logic at [onRibActionEnded] will be running synchronously upon
  * Interactor/Router/Presenter/Worker ATTACH/DETACH, the added logic should guaranteed that we are
  * not impacting app performance
  */
-object ApplicationLevelWorkerLogger {
+object ApplicationLevelWorkerLogger : RibActionTracer {
   private const val LOG_TAG = "WorkerLogger"
 
-  private val workerTimeStampMap = ConcurrentHashMap<String, Long>()
-
-  @OptIn(DelicateCoroutinesApi::class)
   fun start() {
-    RibEvents.enableRibActionEmissions()
-
-    GlobalScope.launch {
-      RibEvents.ribActionEvents
-        .filter { it.ribActionEmitterType == RibActionEmitterType.DEPRECATED_WORKER }
-        .asFlow()
-        .collect { it.logWorkerDuration() }
-    }
+    RibEvents.addRibActionTracer(TraceSectionRibActionTracer())
+    RibEvents.addRibActionTracer(this)
   }
 
-  private fun RibActionInfo.logWorkerDuration() {
-    if (ribActionState == RibActionState.STARTED && !ribActionEmitterName.isClassNameInMap()) {
-      workerTimeStampMap[this.ribActionEmitterName] = currentTimeMillis()
-    } else if (
-      ribActionState == RibActionState.COMPLETED && ribActionEmitterName.isClassNameInMap()
-    ) {
-      val startedTimeStamp = workerTimeStampMap[ribActionEmitterName]
-      startedTimeStamp?.let {
-        val totalDuration = getTotalDuration(it)
-        this.logDuration(totalDuration)
-      }
-      workerTimeStampMap.remove(ribActionEmitterName)
+  override fun onRibActionEnded(
+    ribActionEmitter: RibActionEmitter,
+    ribActionEmitterType: RibActionEmitterType,
+    ribEventType: RibEventType,
+    startNanos: Long,
+    durationNanos: Long,
+  ) {
+    if (ribActionEmitterType != RibActionEmitterType.DEPRECATED_WORKER) {
+      return
     }
-  }
-
-  private fun String.isClassNameInMap(): Boolean = workerTimeStampMap.containsKey(this)
-
-  private fun getTotalDuration(preOnStartDuration: Long): Long =
-    currentTimeMillis() - preOnStartDuration
-
-  private fun RibActionInfo.logDuration(totalDuration: Long) {
+    val totalDuration = TimeUnit.NANOSECONDS.toMillis(durationNanos)
     Log.d(
       LOG_TAG,
-      "${this.ribActionEmitterName} ${this.ribEventType} took $totalDuration ms on $originalCallerThreadName thread",
+      "${ribActionEmitter.javaClass.name}@${System.identityHashCode(ribActionEmitter)} " +
+        "${ribActionEmitterType.ribActionName(ribEventType)} took $totalDuration ms " +
+        "on ${Thread.currentThread().name} thread",
     )
   }
 }
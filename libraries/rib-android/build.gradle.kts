@@ -24,6 +24,7 @@ android {
 
 kotlin.compilerOptions {
     optIn.add("com.uber.rib.core.internal.CoreFriendModuleApi")
+    optIn.add("com.uber.rib.core.internal.CoroutinesFriendModuleApi")
 }
 
 dependencies {
@@ -18,7 +18,9 @@ package com.uber.rib.core
 import android.content.Intent
 import android.content.res.Configuration
 import android.os.Build
+import android.os.Looper
 import android.view.ViewGroup
+import android.view.ViewTreeObserver
 import androidx.annotation.CallSuper
 import com.uber.autodispose.lifecycle.CorrespondingEventsFunction
 import com.uber.autodispose.lifecycle.LifecycleEndedException
@@ -37,6 +39,7 @@ import com.uber.rib.core.lifecycle.ActivityLifecycleEvent.Companion.create
 import com.uber.rib.core.lifecycle.ActivityLifecycleEvent.Companion.createOnCreateEvent
 import io.reactivex.CompletableSource
 import io.reactivex.Observable
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.channels.BufferOverflow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharedFlow
@@ -47,18 +50,17 @@ public abstract class RibActivity :
   CoreAppCompatActivity(),
   ActivityStarter,
   LifecycleScopeProvider<ActivityLifecycleEvent>,
-  RxActivityEvents {
+  RxActivityEvents,
+  CoroutineScopeHolder,
+  LifecycleJobProvider {
   private var router: ViewRouter<*, *>? = null
 
-  private val _lifecycleFlow =
-    MutableSharedFlow<ActivityLifecycleEvent>(1, 0, BufferOverflow.DROP_OLDEST)
+  final override val coroutineScopeSlot: CoroutineScopeSlot = CoroutineScopeSlot()
 
-  public open val lifecycleFlow: SharedFlow<ActivityLifecycleEvent>
-    get() = _lifecycleFlow
+  private val lifecycleState = RibLifecycle<ActivityLifecycleEvent>()
 
-  @Volatile private var _lifecycleObservable: Observable<ActivityLifecycleEvent>? = null
-  private val lifecycleObservable
-    get() = ::_lifecycleObservable.setIfNullAndGet { lifecycleFlow.asObservable() }
+  public open val lifecycleFlow: SharedFlow<ActivityLifecycleEvent>
+    get() = lifecycleState.asFlow()
 
   private val _callbacksFlow =
     MutableSharedFlow<ActivityCallbackEvent>(0, 1, BufferOverflow.DROP_OLDEST)
@@ -70,7 +72,8 @@ public abstract class RibActivity :
     get() = ::_callbacksObservable.setIfNullAndGet { callbacksFlow.asObservable() }
 
   /** @return an observable of this activity's lifecycle events. */
-  final override fun lifecycle(): Observable<ActivityLifecycleEvent> = lifecycleObservable
+  final override fun lifecycle(): Observable<ActivityLifecycleEvent> =
+    lifecycleState.asObservable()
 
   /** @return an observable of this activity's lifecycle events. */
   override fun callbacks(): Observable<ActivityCallbackEvent> = callbacksObservable
@@ -78,18 +81,19 @@ public abstract class RibActivity :
   final override fun correspondingEvents(): CorrespondingEventsFunction<ActivityLifecycleEvent> =
     ACTIVITY_LIFECYCLE
 
-  final override fun peekLifecycle(): ActivityLifecycleEvent? =
-    lifecycleFlow.replayCache.lastOrNull()
+  final override fun peekLifecycle(): ActivityLifecycleEvent? = lifecycleState.current
 
   final override fun requestScope(): CompletableSource =
-    lifecycleFlow.asScopeCompletable(lifecycleRange)
+    lifecycleState.requestScope(lifecycleRange)
+
+  final override fun lifecycleJob(): Job = lifecycleState.jobUntil(lifecycleRange)
 
   @Initializer
   @CallSuper
   override fun onCreate(savedInstanceState: android.os.Bundle?) {
     super.onCreate(savedInstanceState)
     val rootViewGroup = findViewById<ViewGroup>(android.R.id.content)
-    _lifecycleFlow.tryEmit(createOnCreateEvent(savedInstanceState))
+    emitLifecycleEvent(createOnCreateEvent(savedInstanceState))
     val wrappedBundle: Bundle? =
       if (savedInstanceState != null) Bundle(savedInstanceState) else null
     router = createRouter(rootViewGroup)
@@ -98,26 +102,74 @@ public abstract class RibActivity :
       rootViewGroup.addView(it.view)
       RibEvents.emitRouterEvent(RibEventType.ATTACHED, it, null)
     }
+    signalWorkerStartScheduler(rootViewGroup)
+  }
+
+  /**
+   * Delivers the first-draw and main-looper-idle signals to [RibWorkerStartScheduler] once
+   * [rootViewGroup] has drawn for the first time.
+   */
+  private fun signalWorkerStartScheduler(rootViewGroup: ViewGroup) {
+    rootViewGroup.viewTreeObserver.addOnDrawListener(
+      object : ViewTreeObserver.OnDrawListener {
+        private var hasDrawn = false
+
+        override fun onDraw() {
+          if (hasDrawn) return
+          hasDrawn = true
+          // Runs after the current frame is done; draw listeners can't be removed while drawing.
+          rootViewGroup.post {
+            rootViewGroup.viewTreeObserver.removeOnDrawListener(this)
+            RibWorkerStartScheduler.onFirstFrameDrawn()
+            Looper.myQueue().addIdleHandler {
+              RibWorkerStartScheduler.onMainLooperIdle()
+              false
+            }
+          }
+        }
+      },
+    )
   }
 
   @CallSuper
   override fun onSaveInstanceState(outState: android.os.Bundle) {
     super.onSaveInstanceState(outState)
     _callbacksFlow.tryEmit(createOnSaveInstanceStateEvent(outState))
-    router?.saveInstanceStateInternal(Bundle(outState))
-      ?: throw NullPointerException("Router should not be null")
+    val router = router ?: throw NullPointerException("Router should not be null")
+    if (isCompactInstanceStateEnabled) {
+      val ribState = RibStateBundle()
+      router.saveInstanceStateInternal(ribState)
+      ribState.snapshot().also { onRibStateSaved(it) }.writeTo(outState)
+    } else {
+      router.saveInstanceStateInternal(Bundle(outState))
+    }
   }
 
+  /**
+   * When `true`, RIBs save their state into a [RibStateBundle] which is written to the activity's
+   * [android.os.Bundle] in a single pass once the whole tree has been saved. The resulting bundle
+   * layout is the same as with the default behavior. Defaults to `false`.
+   */
+  protected open val isCompactInstanceStateEnabled: Boolean
+    get() = false
+
+  /**
+   * Called with the saved RIB state when [isCompactInstanceStateEnabled] is `true`, before it is
+   * written to the activity's [android.os.Bundle]. The snapshot is immutable and can be handed off
+   * to other threads, e.g. to report [RibStateSnapshot.subtreeSizes].
+   */
+  protected open fun onRibStateSaved(snapshot: RibStateSnapshot) {}
+
   @CallSuper
   override fun onStart() {
     super.onStart()
-    _lifecycleFlow.tryEmit(create(ActivityLifecycleEvent.Type.START))
+    emitLifecycleEvent(create(ActivityLifecycleEvent.Type.START))
   }
 
   @CallSuper
   override fun onResume() {
     super.onResume()
-    _lifecycleFlow.tryEmit(create(ActivityLifecycleEvent.Type.RESUME))
+    emitLifecycleEvent(create(ActivityLifecycleEvent.Type.RESUME))
   }
 
   @CallSuper
@@ -134,19 +186,19 @@ public abstract class RibActivity :
 
   @CallSuper
   override fun onPause() {
-    _lifecycleFlow.tryEmit(create(ActivityLifecycleEvent.Type.PAUSE))
+    emitLifecycleEvent(create(ActivityLifecycleEvent.Type.PAUSE))
     super.onPause()
   }
 
   @CallSuper
   override fun onStop() {
-    _lifecycleFlow.tryEmit(create(ActivityLifecycleEvent.Type.STOP))
+    emitLifecycleEvent(create(ActivityLifecycleEvent.Type.STOP))
     super.onStop()
   }
 
   @CallSuper
   override fun onDestroy() {
-    _lifecycleFlow.tryEmit(create(ActivityLifecycleEvent.Type.DESTROY))
+    emitLifecycleEvent(create(ActivityLifecycleEvent.Type.DESTROY))
     router?.let {
       it.dispatchDetach()
       RibEvents.emitRouterEvent(RibEventType.DETACHED, it, null)
@@ -195,7 +247,7 @@ public abstract class RibActivity :
   }
 
   override fun onUserLeaveHint() {
-    _lifecycleFlow.tryEmit(create(ActivityLifecycleEvent.Type.USER_LEAVING))
+    emitLifecycleEvent(create(ActivityLifecycleEvent.Type.USER_LEAVING))
     super.onUserLeaveHint()
   }
 
@@ -204,6 +256,10 @@ public abstract class RibActivity :
     _callbacksFlow.tryEmit(createWindowFocusEvent(hasFocus))
   }
 
+  private fun emitLifecycleEvent(event: ActivityLifecycleEvent) {
+    lifecycleState.emit(event)
+  }
+
   /**
    * Invoked when none of the ribs handle back press. In this case, default activity back press
    * behavior occurs.
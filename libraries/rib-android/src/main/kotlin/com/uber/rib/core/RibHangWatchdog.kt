@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import android.os.Handler
+import android.os.Looper
+import java.lang.ref.WeakReference
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicReference
+
+/**
+ * Detects main-thread hangs and reports which RIB actions were running at the time.
+ *
+ * Install it with [RibEvents.addRibActionTracer] so it sees RIB actions: those running on the main
+ * thread are kept on a lock-free stack. While [start]ed, a background thread pings the main thread;
+ * when a ping is not handled within [thresholdMillis], the [listener] receives a [RibHangReport]
+ * with the in-flight actions, the router tree of the root routers, and the stack trace of the main
+ * thread. A single report is delivered per hang.
+ *
+ * Root routers attached while started are found through router events. Those attached before
+ * [start], e.g. when the watchdog is started after the first activity, must be added with
+ * [addRootRouter] to show in [RibHangReport.routerTree].
+ *
+ * @param listener receives the reports, on the watchdog thread.
+ * @param thresholdMillis how long the main thread can be unresponsive before reporting a hang.
+ */
+public class RibHangWatchdog
+@JvmOverloads
+constructor(
+  private val listener: Listener,
+  private val thresholdMillis: Long = DEFAULT_THRESHOLD_MILLIS,
+) : RibActionTracer {
+  private val mainLooper = Looper.getMainLooper()
+  private val mainHandler = Handler(mainLooper)
+  private val inFlightActions = AtomicReference<InFlightNode?>(null)
+  private val rootRouters = ArrayList<WeakReference<Router<*>>>() // Guarded by itself.
+
+  @Volatile private var watchdogThread: Thread? = null
+
+  private val routerEventListener =
+    RibEvents.RouterEventListener { eventType, router, parentRouter ->
+      onRouterEvent(eventType, router, isRoot = parentRouter == null)
+    }
+
+  /** Receives [RibHangReport]s. */
+  public fun interface Listener {
+    public fun onHang(report: RibHangReport)
+  }
+
+  /**
+   * Starts watching the main thread. Must be called on the main thread.
+   *
+   * Root routers are tracked through a [RibEvents.RouterEventListener], which works whether or not
+   * [RibEvents.enableWeakRouterEvents] is called, before or after this.
+   */
+  public fun start() {
+    if (watchdogThread != null) return
+    RibEvents.addRouterEventListener(routerEventListener)
+    watchdogThread =
+      Thread({ watch() }, "RibHangWatchdog").apply {
+        isDaemon = true
+        start()
+      }
+  }
+
+  /** Stops watching the main thread. Must be called on the main thread. */
+  public fun stop() {
+    RibEvents.removeRouterEventListener(routerEventListener)
+    watchdogThread?.interrupt()
+    watchdogThread = null
+  }
+
+  /**
+   * Adds [router] to the roots of [RibHangReport.routerTree], for a root router attached before
+   * [start]. It is dropped once detached or garbage collected.
+   */
+  public fun addRootRouter(router: Router<*>) {
+    onRouterEvent(RibEventType.ATTACHED, router, isRoot = true)
+  }
+
+  /** Captures the current state, e.g. for a hang detected by other means. */
+  public fun captureReport(unresponsiveMillis: Long): RibHangReport {
+    val nowNanos = System.nanoTime()
+    val actions = ArrayList<RibHangReport.InFlightAction>()
+    var node = inFlightActions.get()
+    while (node != null) {
+      actions.add(node.toInFlightAction(nowNanos))
+      node = node.next
+    }
+    return RibHangReport(
+      unresponsiveMillis = unresponsiveMillis,
+      inFlightActions = actions,
+      routerTree = describeRouterTree(),
+      mainThreadStackTrace = mainLooper.thread.stackTrace.toList(),
+    )
+  }
+
+  override fun onRibActionStarted(
+    ribActionEmitter: RibActionEmitter,
+    ribActionEmitterType: RibActionEmitterType,
+    ribEventType: RibEventType,
+  ) {
+    if (Thread.currentThread() !== mainLooper.thread) return
+    // Only the main thread writes, readers see an immutable list.
+    inFlightActions.set(
+      InFlightNode(
+        ribActionEmitter.javaClass.name,
+        ribActionEmitterType,
+        ribEventType,
+        System.nanoTime(),
+        inFlightActions.get(),
+      ),
+    )
+  }
+
+  override fun onRibActionEnded(
+    ribActionEmitter: RibActionEmitter,
+    ribActionEmitterType: RibActionEmitterType,
+    ribEventType: RibEventType,
+    startNanos: Long,
+    durationNanos: Long,
+  ) {
+    if (Thread.currentThread() !== mainLooper.thread) return
+    // Also drops the actions above it whose end was missed, if any.
+    val emitterClassName = ribActionEmitter.javaClass.name
+    var node = inFlightActions.get()
+    while (node != null && !node.matches(emitterClassName, ribActionEmitterType, ribEventType)) {
+      node = node.next
+    }
+    if (node != null) inFlightActions.set(node.next)
+  }
+
+  private fun onRouterEvent(eventType: RibEventType, router: Router<*>, isRoot: Boolean) {
+    if (!isRoot) return
+    synchronized(rootRouters) {
+      rootRouters.removeAll { it.get().let { root -> root == null || root === router } }
+      if (eventType == RibEventType.ATTACHED) {
+        rootRouters.add(WeakReference(router))
+      }
+    }
+  }
+
+  private fun watch() {
+    val thread = Thread.currentThread()
+    var reportedHang = false
+    while (watchdogThread === thread) {
+      val ping = Ping()
+      val pingedAtNanos = System.nanoTime()
+      mainHandler.post(ping)
+      try {
+        Thread.sleep(thresholdMillis)
+        while (!ping.isHandled) {
+          if (!reportedHang) {
+            reportedHang = true
+            val unresponsiveNanos = System.nanoTime() - pingedAtNanos
+            listener.onHang(captureReport(TimeUnit.NANOSECONDS.toMillis(unresponsiveNanos)))
+          }
+          Thread.sleep(thresholdMillis)
+        }
+      } catch (e: InterruptedException) {
+        return
+      }
+      reportedHang = false
+    }
+  }
+
+  private fun describeRouterTree(): String {
+    val roots = synchronized(rootRouters) { rootRouters.mapNotNull { it.get() } }
+    return buildString { roots.forEach { appendRouter(it, depth = 0) } }
+  }
+
+  private fun StringBuilder.appendRouter(router: Router<*>, depth: Int) {
+    repeat(depth) { append("  ") }
+    append(router.javaClass.name)
+    router.tag?.let { append(" (").append(it).append(')') }
+    append('\n')
+    router.getChildren().forEach { appendRouter(it, depth + 1) }
+  }
+
+  private class Ping : Runnable {
+    @Volatile var isHandled = false
+
+    override fun run() {
+      isHandled = true
+    }
+  }
+
+  private class InFlightNode(
+    val emitterClassName: String,
+    val emitterType: RibActionEmitterType,
+    val eventType: RibEventType,
+    val startNanos: Long,
+    val next: InFlightNode?,
+  ) {
+    fun matches(
+      emitterClassName: String,
+      emitterType: RibActionEmitterType,
+      eventType: RibEventType,
+    ): Boolean =
+      this.emitterClassName == emitterClassName &&
+        this.emitterType == emitterType &&
+        this.eventType == eventType
+
+    fun toInFlightAction(nowNanos: Long) =
+      RibHangReport.InFlightAction(
+        emitterClassName = emitterClassName,
+        actionName = emitterType.ribActionName(eventType),
+        emitterType = emitterType,
+        runningForMillis = TimeUnit.NANOSECONDS.toMillis(nowNanos - startNanos),
+      )
+  }
+
+  private companion object {
+    private const val DEFAULT_THRESHOLD_MILLIS = 2_000L
+  }
+}
+
+/**
+ * State of the RIBs while the main thread was unresponsive, see [RibHangWatchdog].
+ *
+ * @property unresponsiveMillis how long the main thread had been unresponsive.
+ * @property inFlightActions RIB actions running on the main thread, innermost first.
+ * @property routerTree the router tree, one router per line, indented by depth.
+ * @property mainThreadStackTrace stack trace of the main thread.
+ */
+public data class RibHangReport(
+  val unresponsiveMillis: Long,
+  val inFlightActions: List<InFlightAction>,
+  val routerTree: String,
+  val mainThreadStackTrace: List<StackTraceElement>,
+) {
+  /**
+   * A RIB action running on the main thread.
+   *
+   * @property emitterClassName class name of the RIB component running the action.
+   * @property actionName name of the action, e.g. `didBecomeActive`.
+   * @property emitterType type of the RIB component.
+   * @property runningForMillis how long the action had been running.
+   */
+  public data class InFlightAction(
+    val emitterClassName: String,
+    val actionName: String,
+    val emitterType: RibActionEmitterType,
+    val runningForMillis: Long,
+  )
+}
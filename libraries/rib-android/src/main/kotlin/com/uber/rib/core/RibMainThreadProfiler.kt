@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import android.os.Looper
+import io.reactivex.plugins.RxJavaPlugins
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Attributes main-thread time to the RIBs that caused it, to find out which RIB owns slow main
+ * thread work. Three sources are attributed:
+ * 1. RIB actions, e.g. `didBecomeActive`, when installed with [RibEvents.addRibActionTracer].
+ * 2. Coroutine tasks on [RibDispatchers.Main], when installed as the [RibTaskListener] of
+ *    [InstrumentedRibDispatchers]. Tasks are attributed to their [RibCoroutineOwner].
+ * 3. Rx work scheduled on the main thread while one of the above runs, after
+ *    [installRxScheduleHandler].
+ *
+ * Nested work is only counted once: the time of a RIB action does not include the time of the RIB
+ * actions it triggered. Recording is only active between [start] and [stop], and [start] can be
+ * sampled so that only a fraction of sessions pays for it in production.
+ *
+ * @param frameBudgetNanos main-thread time above which a single slice of work counts as over
+ *   budget in [RibMainThreadReport.Entry.overBudgetCount].
+ */
+public class RibMainThreadProfiler
+@JvmOverloads
+constructor(
+  private val frameBudgetNanos: Long = DEFAULT_FRAME_BUDGET_NANOS,
+) : RibActionTracer, RibTaskListener {
+  private val mainThread = Looper.getMainLooper().thread
+
+  // Stack of the RIBs currently running on the main thread, only accessed from the main thread.
+  private val ownerStack = arrayOfNulls<String>(MAX_DEPTH)
+  private val childNanosStack = LongArray(MAX_DEPTH)
+  private var depth = 0
+
+  @Volatile private var isRecording = false
+  private var isRxScheduleHandlerInstalled = false // Guarded by `this`.
+  private var startedAtNanos = 0L
+  private val entries = HashMap<String, MutableEntry>() // Guarded by `this`.
+
+  /**
+   * Starts recording, with a probability of [sampleRate], and clears the previous recording.
+   *
+   * @return whether recording started.
+   */
+  @JvmOverloads
+  public fun start(sampleRate: Double = 1.0): Boolean {
+    synchronized(this) {
+      entries.clear()
+      startedAtNanos = System.nanoTime()
+      isRecording = sampleRate >= 1.0 || Random.nextDouble() < sampleRate
+      return isRecording
+    }
+  }
+
+  /** Stops recording, and returns what was recorded. */
+  @JvmOverloads
+  public fun stop(topCount: Int = Int.MAX_VALUE): RibMainThreadReport {
+    isRecording = false
+    return report(topCount)
+  }
+
+  /** Returns what was recorded so far, with the [topCount] RIBs with the most main-thread time. */
+  @JvmOverloads
+  public fun report(topCount: Int = Int.MAX_VALUE): RibMainThreadReport =
+    synchronized(this) {
+      RibMainThreadReport(
+        recordedNanos = System.nanoTime() - startedAtNanos,
+        topOffenders =
+          entries.values
+            .sortedByDescending { it.totalNanos }
+            .take(topCount)
+            .map { it.toEntry() },
+      )
+    }
+
+  /**
+   * Attributes Rx work scheduled on the main thread while a RIB runs there to that RIB. Wraps the
+   * current [RxJavaPlugins] schedule handler, if any. Rx work is left as is while not recording.
+   * Only the first call installs the handler.
+   */
+  public fun installRxScheduleHandler() {
+    synchronized(this) {
+      if (isRxScheduleHandlerInstalled) return
+      isRxScheduleHandlerInstalled = true
+    }
+    val previousHandler = RxJavaPlugins.getScheduleHandler()
+    RxJavaPlugins.setScheduleHandler { scheduled ->
+      val runnable = previousHandler?.apply(scheduled) ?: scheduled
+      val owner = if (isRecording) currentOwner() else null
+      if (owner == null) runnable else Runnable { runAttributed(owner, runnable) }
+    }
+  }
+
+  override fun onRibActionStarted(
+    ribActionEmitter: RibActionEmitter,
+    ribActionEmitterType: RibActionEmitterType,
+    ribEventType: RibEventType,
+  ) {
+    if (Thread.currentThread() === mainThread) push(ribActionEmitter.javaClass.name)
+  }
+
+  override fun onRibActionEnded(
+    ribActionEmitter: RibActionEmitter,
+    ribActionEmitterType: RibActionEmitterType,
+    ribEventType: RibEventType,
+    startNanos: Long,
+    durationNanos: Long,
+  ) {
+    if (Thread.currentThread() === mainThread) pop(ribActionEmitter.javaClass.name, durationNanos)
+  }
+
+  override fun onTaskStarted(dispatcherName: String, ownerName: String) {
+    if (Thread.currentThread() === mainThread) push(ownerName)
+  }
+
+  override fun onTaskEnded(
+    dispatcherName: String,
+    ownerName: String,
+    queueLatencyNanos: Long,
+    runTimeNanos: Long,
+  ) {
+    if (Thread.currentThread() === mainThread) pop(ownerName, runTimeNanos)
+  }
+
+  private fun currentOwner(): String? =
+    if (Thread.currentThread() === mainThread && depth in 1..MAX_DEPTH) {
+      ownerStack[depth - 1]
+    } else {
+      null
+    }
+
+  private fun runAttributed(owner: String, runnable: Runnable) {
+    if (Thread.currentThread() !== mainThread) {
+      runnable.run()
+      return
+    }
+    push(owner)
+    val startNanos = System.nanoTime()
+    try {
+      runnable.run()
+    } finally {
+      pop(owner, System.nanoTime() - startNanos)
+    }
+  }
+
+  private fun push(owner: String) {
+    if (depth < MAX_DEPTH) {
+      ownerStack[depth] = owner
+      childNanosStack[depth] = 0L
+    }
+    depth++
+  }
+
+  /** Pops the frame of [owner], dropping the frames above it whose end was missed, if any. */
+  private fun pop(owner: String, durationNanos: Long) {
+    if (depth > MAX_DEPTH) {
+      // Frames beyond MAX_DEPTH are not stored, and can't be matched.
+      depth--
+      return
+    }
+    var index = depth - 1
+    while (index >= 0 && ownerStack[index] != owner) index--
+    if (index < 0) return
+    while (depth - 1 > index) {
+      depth--
+      ownerStack[depth] = null
+    }
+    depth--
+    val selfNanos = durationNanos - childNanosStack[depth]
+    ownerStack[depth] = null
+    if (depth > 0) childNanosStack[depth - 1] += durationNanos
+    if (isRecording) record(owner, selfNanos)
+  }
+
+  private fun record(owner: String, selfNanos: Long) {
+    synchronized(this) {
+      val entry = entries.getOrPut(owner) { MutableEntry(owner) }
+      entry.totalNanos += selfNanos
+      entry.count++
+      entry.maxNanos = maxOf(entry.maxNanos, selfNanos)
+      if (selfNanos > frameBudgetNanos) entry.overBudgetCount++
+    }
+  }
+
+  private class MutableEntry(val ribName: String) {
+    var totalNanos = 0L
+    var count = 0
+    var maxNanos = 0L
+    var overBudgetCount = 0
+
+    fun toEntry() =
+      RibMainThreadReport.Entry(ribName, totalNanos, count, maxNanos, overBudgetCount)
+  }
+
+  private companion object {
+    private val DEFAULT_FRAME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(16L)
+    private const val MAX_DEPTH = 64
+  }
+}
+
+/**
+ * Main-thread time attributed to RIBs by [RibMainThreadProfiler].
+ *
+ * @property recordedNanos how long the recording lasted.
+ * @property topOffenders the RIBs with the most main-thread time, in decreasing order.
+ */
+public data class RibMainThreadReport(
+  val recordedNanos: Long,
+  val topOffenders: List<Entry>,
+) {
+  /**
+   * Main-thread time of a single RIB.
+   *
+   * @property ribName class name of the RIB component, or owner name of its coroutines.
+   * @property totalNanos main-thread time, excluding the time of nested RIB work.
+   * @property count number of slices of work.
+   * @property maxNanos longest slice of work.
+   * @property overBudgetCount number of slices longer than the frame budget.
+   */
+  public data class Entry(
+    val ribName: String,
+    val totalNanos: Long,
+    val count: Int,
+    val maxNanos: Long,
+    val overBudgetCount: Int,
+  )
+}
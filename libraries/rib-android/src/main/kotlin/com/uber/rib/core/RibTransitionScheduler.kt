@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import android.view.Choreographer
+import androidx.annotation.MainThread
+
+/**
+ * Spreads router attaches and detaches over several frames, driven by [Choreographer].
+ *
+ * Each transition attaches or detaches a single child subtree with [Router.attachChild] or
+ * [Router.detachChild], so the lifecycle ordering of interactors, presenters and workers within a
+ * subtree is the same as without the scheduler. Transitions run in frame callbacks until
+ * [frameBudgetNanos] is spent, and at least one runs per frame.
+ *
+ * [Priority.VISIBLE] transitions run before [Priority.DEFERRED] ones, in the order they were
+ * scheduled. A child scheduled on a parent whose own attach is still pending waits for it. At most
+ * one transition is pending per child: scheduling another one for the same child replaces it, so
+ * the latest request wins regardless of priorities. Detaching a child whose attach is still pending
+ * cancels both, as well as anything pending on the child.
+ *
+ * Transitions are checked against the router tree when they run. They are dropped when [Router]s
+ * changed outside the scheduler in the meantime, e.g. when the parent was detached, the child is
+ * already attached, or the child was already detached.
+ *
+ * All methods must be called on the main thread.
+ *
+ * @param frameBudgetNanos time that transitions may take per frame.
+ * @param choreographer to schedule frames with.
+ */
+public class RibTransitionScheduler
+@JvmOverloads
+constructor(
+  private val frameBudgetNanos: Long = DEFAULT_FRAME_BUDGET_NANOS,
+  private val choreographer: Choreographer = Choreographer.getInstance(),
+) {
+
+  /** Scheduling priority of a transition. */
+  public enum class Priority {
+    /** Transitions of children visible on screen, run first. */
+    VISIBLE,
+
+    /** Transitions of offscreen or headless children, run once no visible transition is left. */
+    DEFERRED,
+  }
+
+  private class Transition(
+    val parent: Router<*>,
+    val child: Router<*>,
+    val tag: String?,
+    val priority: Priority,
+    val callback: (() -> Unit)?,
+  ) {
+    val isAttach: Boolean
+      get() = tag != null
+  }
+
+  /** Pending transition of each child, in scheduling order. */
+  private val pending = LinkedHashMap<Router<*>, Transition>()
+  private var isFrameScheduled = false
+  private val frameCallback = Choreographer.FrameCallback { runFrame() }
+
+  /** Number of transitions that did not run yet. */
+  public val pendingCount: Int
+    get() = pending.size
+
+  /**
+   * Schedules attaching [child] to [parent], replacing any transition still pending for [child].
+   *
+   * @param parent the router to attach to.
+   * @param child the router to attach.
+   * @param tag an identifier to namespace saved instance state [Bundle] objects.
+   * @param priority defaults to [Priority.VISIBLE] for [ViewRouter]s, and to [Priority.DEFERRED]
+   *   otherwise.
+   * @param onAttached called right after [child] was attached, e.g. to add its view.
+   */
+  @MainThread
+  @JvmOverloads
+  public fun attachChild(
+    parent: Router<*>,
+    child: Router<*>,
+    tag: String = child.javaClass.name,
+    priority: Priority = defaultPriority(child),
+    onAttached: (() -> Unit)? = null,
+  ) {
+    val replaced = pending.remove(child)
+    if (replaced != null && !replaced.isAttach && replaced.parent !== parent) {
+      // Moving to another parent: the child has to leave the old one before it can be attached.
+      run(replaced)
+    }
+    enqueue(Transition(parent, child, tag, priority, onAttached))
+  }
+
+  /**
+   * Schedules detaching [child] from [parent], or cancels its attach if that did not run yet.
+   *
+   * @param parent the router to detach from.
+   * @param child the router to detach.
+   * @param priority defaults to [Priority.VISIBLE] for [ViewRouter]s, and to [Priority.DEFERRED]
+   *   otherwise.
+   * @param onDetached called right after [child] was detached, e.g. to remove its view. Not called
+   *   when the attach of [child] is cancelled instead.
+   */
+  @MainThread
+  @JvmOverloads
+  public fun detachChild(
+    parent: Router<*>,
+    child: Router<*>,
+    priority: Priority = defaultPriority(child),
+    onDetached: (() -> Unit)? = null,
+  ) {
+    val replaced = pending.remove(child)
+    if (replaced != null && replaced.isAttach) {
+      cancelPendingOn(child)
+      return
+    }
+    enqueue(Transition(parent, child, null, priority, onDetached))
+  }
+
+  /** Runs all pending transitions now, regardless of the frame budget. */
+  @MainThread
+  public fun flush() {
+    while (true) {
+      val transition = pollRunnable() ?: break
+      run(transition)
+    }
+  }
+
+  private fun enqueue(transition: Transition) {
+    pending[transition.child] = transition
+    if (!isFrameScheduled) {
+      isFrameScheduled = true
+      choreographer.postFrameCallback(frameCallback)
+    }
+  }
+
+  private fun runFrame() {
+    isFrameScheduled = false
+    val deadline = System.nanoTime() + frameBudgetNanos
+    do {
+      val transition = pollRunnable() ?: break
+      run(transition)
+    } while (System.nanoTime() < deadline)
+    if (pending.isNotEmpty()) {
+      isFrameScheduled = true
+      choreographer.postFrameCallback(frameCallback)
+    }
+  }
+
+  private fun pollRunnable(): Transition? {
+    for (priority in Priority.entries) {
+      for (transition in pending.values) {
+        if (transition.priority == priority && !isWaitingForParent(transition)) {
+          pending.remove(transition.child)
+          return transition
+        }
+      }
+    }
+    return null
+  }
+
+  private fun isWaitingForParent(transition: Transition): Boolean =
+    transition.isAttach && pending[transition.parent]?.isAttach == true
+
+  private fun run(transition: Transition) {
+    val parent = transition.parent
+    val child = transition.child
+    if (!parent.interactor.isAttached()) {
+      // The parent was detached outside the scheduler, and with it its whole subtree.
+      cancelPendingOn(child)
+      return
+    }
+    val isChildAttached = parent.getChildren().contains(child)
+    if (transition.isAttach) {
+      if (isChildAttached) {
+        return
+      }
+      parent.attachChild(child, transition.tag!!)
+    } else {
+      if (!isChildAttached) {
+        cancelPendingOn(child)
+        return
+      }
+      parent.detachChild(child)
+      // Its subtree is detached, so anything still scheduled on it is moot.
+      cancelPendingOn(child)
+    }
+    transition.callback?.invoke()
+  }
+
+  private fun cancelPendingOn(parent: Router<*>) {
+    val cancelledChildren = mutableListOf<Router<*>>()
+    val iterator = pending.values.iterator()
+    while (iterator.hasNext()) {
+      val transition = iterator.next()
+      if (transition.parent === parent) {
+        iterator.remove()
+        cancelledChildren.add(transition.child)
+      }
+    }
+    cancelledChildren.forEach { cancelPendingOn(it) }
+  }
+
+  public companion object {
+    /** Default [frameBudgetNanos], leaving most of a 60Hz frame to measure, layout and draw. */
+    public const val DEFAULT_FRAME_BUDGET_NANOS: Long = 4_000_000L
+
+    private fun defaultPriority(child: Router<*>): Priority =
+      if (child is ViewRouter<*, *>) Priority.VISIBLE else Priority.DEFERRED
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import android.os.Build
+import android.os.Trace
+
+/**
+ * [RibActionTracer] that wraps every RIB action in an [android.os.Trace] section named after the
+ * emitter and its callback (e.g. `LoggedInInteractor.didBecomeActive`), so RIB actions show up in
+ * Perfetto and systrace. Install it with [RibEvents.addRibActionTracer].
+ */
+public class TraceSectionRibActionTracer : RibActionTracer {
+  // Per thread, which of the RIB actions in progress began a section, so that only those are ended.
+  private val openSections =
+    object : ThreadLocal<OpenSections>() {
+      override fun initialValue(): OpenSections = OpenSections()
+    }
+
+  override fun onRibActionStarted(
+    ribActionEmitter: RibActionEmitter,
+    ribActionEmitterType: RibActionEmitterType,
+    ribEventType: RibEventType,
+  ) {
+    val isTracing = isTracing()
+    if (isTracing) {
+      val actionName = ribActionEmitterType.ribActionName(ribEventType)
+      val sectionName = "${ribActionEmitter.javaClass.simpleName}.$actionName"
+      Trace.beginSection(sectionName.take(MAX_SECTION_NAME_LENGTH))
+    }
+    openSections.get()!!.push(isTracing)
+  }
+
+  override fun onRibActionEnded(
+    ribActionEmitter: RibActionEmitter,
+    ribActionEmitterType: RibActionEmitterType,
+    ribEventType: RibEventType,
+    startNanos: Long,
+    durationNanos: Long,
+  ) {
+    // Tracing may have started or stopped mid-action: only end the section this action began.
+    if (openSections.get()!!.pop()) {
+      Trace.endSection()
+    }
+  }
+
+  // Decides whether an action begins a section, and so whether its end closes one. Before API 29,
+  // there is no way to tell if tracing is on, so every action begins a section.
+  private fun isTracing(): Boolean =
+    Build.VERSION.SDK_INT < Build.VERSION_CODES.Q || Trace.isEnabled()
+
+  /** A stack of flags telling whether each nested RIB action of a thread began a section. */
+  private class OpenSections {
+    private var depth = 0
+    private var begun = BooleanArray(INITIAL_DEPTH)
+
+    fun push(hasBegunSection: Boolean) {
+      if (depth == begun.size) begun = begun.copyOf(depth * 2)
+      begun[depth++] = hasBegunSection
+    }
+
+    /** @return whether the innermost action began a section, or `false` if none is in progress. */
+    fun pop(): Boolean = depth > 0 && begun[--depth]
+  }
+
+  private companion object {
+    private const val INITIAL_DEPTH = 8
+
+    private const val MAX_SECTION_NAME_LENGTH = 127
+  }
+}
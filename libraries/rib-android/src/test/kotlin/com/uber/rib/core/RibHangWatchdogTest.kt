@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicReference
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class RibHangWatchdogTest {
+  private val reports = AtomicReference<RibHangReport>()
+  private val reported = CountDownLatch(1)
+  private val watchdog =
+    RibHangWatchdog(
+      listener = {
+        reports.set(it)
+        reported.countDown()
+      },
+      thresholdMillis = 50L,
+    )
+  private val interactor = HangingInteractor()
+
+  @Test
+  fun captureReport_listsInFlightActionsInnermostFirst() {
+    watchdog.onRibActionStarted(interactor, RibActionEmitterType.INTERACTOR, RibEventType.ATTACHED)
+    watchdog.onRibActionStarted(interactor, RibActionEmitterType.PRESENTER, RibEventType.ATTACHED)
+    watchdog.onRibActionEnded(
+      interactor,
+      RibActionEmitterType.PRESENTER,
+      RibEventType.ATTACHED,
+      0L,
+      0L,
+    )
+
+    val report = watchdog.captureReport(unresponsiveMillis = 0L)
+
+    assertThat(report.inFlightActions.map { it.emitterClassName to it.actionName })
+      .containsExactly(HangingInteractor::class.java.name to "didBecomeActive")
+    assertThat(report.mainThreadStackTrace).isNotEmpty()
+  }
+
+  @Test
+  fun captureReport_whenEndOfNestedActionIsMissed_dropsIt() {
+    watchdog.onRibActionStarted(interactor, RibActionEmitterType.INTERACTOR, RibEventType.ATTACHED)
+    watchdog.onRibActionStarted(interactor, RibActionEmitterType.PRESENTER, RibEventType.ATTACHED)
+    watchdog.onRibActionEnded(
+      interactor,
+      RibActionEmitterType.INTERACTOR,
+      RibEventType.ATTACHED,
+      0L,
+      0L,
+    )
+    watchdog.onRibActionEnded(
+      interactor,
+      RibActionEmitterType.INTERACTOR,
+      RibEventType.DETACHED,
+      0L,
+      0L,
+    )
+
+    assertThat(watchdog.captureReport(unresponsiveMillis = 0L).inFlightActions).isEmpty()
+  }
+
+  @Test
+  fun start_whenMainThreadIsBlocked_reportsHangWithRunningAction() {
+    watchdog.onRibActionStarted(interactor, RibActionEmitterType.INTERACTOR, RibEventType.ATTACHED)
+    watchdog.start()
+
+    // The main looper cannot handle the watchdog's ping while this test blocks it.
+    val hasReported = reported.await(5, TimeUnit.SECONDS)
+    watchdog.stop()
+
+    assertThat(hasReported).isTrue()
+    val report = reports.get()
+    assertThat(report.unresponsiveMillis).isAtLeast(50L)
+    assertThat(report.inFlightActions.single().emitterClassName)
+      .isEqualTo(HangingInteractor::class.java.name)
+    assertThat(report.mainThreadStackTrace.map { it.className })
+      .contains(RibHangWatchdogTest::class.java.name)
+  }
+
+  @Test
+  fun captureReport_describesRootsAddedBeforeStartAndAttachedAfter() {
+    val earlyRoot = TreeRouter()
+    earlyRoot.attachChild(TreeRouter(), "child")
+    watchdog.addRootRouter(earlyRoot)
+    watchdog.start()
+    val lateRoot = TreeRouter()
+    RibEvents.emitRouterEvent(RibEventType.ATTACHED, lateRoot, null)
+
+    val report = watchdog.captureReport(unresponsiveMillis = 0L)
+    watchdog.stop()
+
+    val routerName = TreeRouter::class.java.name
+    assertThat(report.routerTree).isEqualTo("$routerName\n  $routerName (child)\n$routerName\n")
+  }
+
+  @Test
+  fun stop_shouldStopTrackingRootRouters() {
+    watchdog.start()
+    watchdog.stop()
+    RibEvents.emitRouterEvent(RibEventType.ATTACHED, TreeRouter(), null)
+
+    assertThat(watchdog.captureReport(unresponsiveMillis = 0L).routerTree).isEmpty()
+  }
+
+  private class HangingInteractor : RibActionEmitter
+
+  private class TreeInteractor : Interactor<Any, Router<*>>(Any())
+
+  private class TreeRouter : Router<TreeInteractor>(TreeInteractor())
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import io.reactivex.plugins.RxJavaPlugins
+import java.util.concurrent.TimeUnit
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class RibMainThreadProfilerTest {
+  private val profiler = RibMainThreadProfiler(frameBudgetNanos = millis(10))
+  private val parent = ParentInteractor()
+  private val child = ChildInteractor()
+
+  @After
+  fun tearDown() {
+    RxJavaPlugins.reset()
+  }
+
+  @Test
+  fun report_attributesSelfTimeOfNestedActions() {
+    profiler.start()
+
+    startAction(parent)
+    startAction(child)
+    endAction(child, millis(15))
+    endAction(parent, millis(20))
+
+    val report = profiler.stop()
+    assertThat(report.topOffenders.map { it.ribName to it.totalNanos })
+      .containsExactly(
+        ChildInteractor::class.java.name to millis(15),
+        ParentInteractor::class.java.name to millis(5),
+      )
+      .inOrder()
+    assertThat(report.topOffenders.first().overBudgetCount).isEqualTo(1)
+  }
+
+  @Test
+  fun report_attributesMainDispatcherTasksToTheirOwner() {
+    profiler.start()
+
+    profiler.onTaskStarted("Main", "FeatureInteractor")
+    profiler.onTaskEnded("Main", "FeatureInteractor", 0L, millis(3))
+
+    assertThat(profiler.report(topCount = 1).topOffenders.single())
+      .isEqualTo(RibMainThreadReport.Entry("FeatureInteractor", millis(3), 1, millis(3), 0))
+  }
+
+  @Test
+  fun installRxScheduleHandler_attributesWorkScheduledDuringActionOnce() {
+    profiler.installRxScheduleHandler()
+    profiler.installRxScheduleHandler()
+    profiler.start()
+
+    startAction(parent)
+    val scheduled = RxJavaPlugins.onSchedule { Thread.sleep(2L) }
+    endAction(parent, 0L)
+    scheduled.run()
+
+    val entry = profiler.report().topOffenders.single()
+    assertThat(entry.ribName).isEqualTo(ParentInteractor::class.java.name)
+    assertThat(entry.count).isEqualTo(2)
+    assertThat(entry.totalNanos).isAtLeast(millis(2))
+  }
+
+  @Test
+  fun installRxScheduleHandler_whenNotRecording_leavesWorkUnwrapped() {
+    profiler.installRxScheduleHandler()
+    val runnable = Runnable {}
+
+    startAction(parent)
+    val scheduled = RxJavaPlugins.onSchedule(runnable)
+    endAction(parent, 0L)
+
+    assertThat(scheduled).isSameInstanceAs(runnable)
+  }
+
+  @Test
+  fun report_whenEndOfNestedActionIsMissed_attributesOuterAction() {
+    profiler.start()
+
+    startAction(parent)
+    startAction(child)
+    endAction(parent, millis(20))
+    endAction(child, millis(15))
+
+    val entry = profiler.stop().topOffenders.single()
+    assertThat(entry.ribName).isEqualTo(ParentInteractor::class.java.name)
+    assertThat(entry.totalNanos).isEqualTo(millis(20))
+  }
+
+  @Test
+  fun stop_whenNotSampled_recordsNothing() {
+    assertThat(profiler.start(sampleRate = 0.0)).isFalse()
+
+    profiler.onTaskStarted("Main", "FeatureInteractor")
+    profiler.onTaskEnded("Main", "FeatureInteractor", 0L, millis(3))
+
+    assertThat(profiler.stop().topOffenders).isEmpty()
+  }
+
+  private fun startAction(emitter: RibActionEmitter) {
+    profiler.onRibActionStarted(emitter, RibActionEmitterType.INTERACTOR, RibEventType.ATTACHED)
+  }
+
+  private fun endAction(emitter: RibActionEmitter, durationNanos: Long) {
+    profiler.onRibActionEnded(
+      emitter,
+      RibActionEmitterType.INTERACTOR,
+      RibEventType.ATTACHED,
+      0L,
+      durationNanos,
+    )
+  }
+
+  private fun millis(value: Long) = TimeUnit.MILLISECONDS.toNanos(value)
+
+  private class ParentInteractor : RibActionEmitter
+
+  private class ChildInteractor : RibActionEmitter
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import android.os.Looper
+import android.view.Choreographer
+import com.google.common.truth.Truth.assertThat
+import com.uber.rib.core.RibTransitionScheduler.Priority
+import java.time.Duration
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+
+@RunWith(RobolectricTestRunner::class)
+class RibTransitionSchedulerTest {
+
+  private val events = mutableListOf<String>()
+  private lateinit var scheduler: RibTransitionScheduler
+  private lateinit var root: TestRouter
+
+  @Before
+  fun setup() {
+    scheduler = RibTransitionScheduler(frameBudgetNanos = 0L, Choreographer.getInstance())
+    root = TestRouter()
+    root.dispatchAttach(null)
+  }
+
+  @Test
+  fun attachChild_shouldAttachOnNextFrames() {
+    val first = TestRouter()
+    val second = TestRouter()
+
+    scheduler.attachChild(root, first, "first", Priority.VISIBLE)
+    scheduler.attachChild(root, second, "second", Priority.VISIBLE)
+
+    assertThat(root.getChildren()).isEmpty()
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(1))
+    assertThat(root.getChildren()).containsExactly(first, second).inOrder()
+    assertThat(scheduler.pendingCount).isEqualTo(0)
+  }
+
+  @Test
+  fun flush_shouldRunVisibleTransitionsFirst() {
+    scheduler.attachChild(root, TestRouter(), "deferred", Priority.DEFERRED) {
+      events += "deferred"
+    }
+    scheduler.attachChild(root, TestRouter(), "visible", Priority.VISIBLE) { events += "visible" }
+
+    scheduler.flush()
+
+    assertThat(events).containsExactly("visible", "deferred").inOrder()
+  }
+
+  @Test
+  fun flush_whenParentAttachPending_shouldAttachParentFirst() {
+    val parent = TestRouter()
+    val child = TestRouter()
+    scheduler.attachChild(root, parent, "parent", Priority.DEFERRED) { events += "parent" }
+    scheduler.attachChild(parent, child, "child", Priority.VISIBLE) { events += "child" }
+
+    scheduler.flush()
+
+    assertThat(events).containsExactly("parent", "child").inOrder()
+    assertThat(child.interactor.isAttached()).isTrue()
+  }
+
+  @Test
+  fun detachChild_whenAttachPending_shouldCancelSubtree() {
+    val parent = TestRouter()
+    val child = TestRouter()
+    scheduler.attachChild(root, parent, "parent") { events += "parent" }
+    scheduler.attachChild(parent, child, "child") { events += "child" }
+
+    scheduler.detachChild(root, parent) { events += "detached" }
+    scheduler.flush()
+
+    assertThat(events).isEmpty()
+    assertThat(root.getChildren()).isEmpty()
+    assertThat(scheduler.pendingCount).isEqualTo(0)
+  }
+
+  @Test
+  fun detachChild_shouldDetachWholeSubtree() {
+    val parent = TestRouter()
+    val child = TestRouter()
+    root.attachChild(parent, "parent")
+    parent.attachChild(child, "child")
+
+    scheduler.detachChild(root, parent) { events += "detached" }
+    scheduler.flush()
+
+    assertThat(events).containsExactly("detached")
+    assertThat(parent.interactor.isAttached()).isFalse()
+    assertThat(child.interactor.isAttached()).isFalse()
+  }
+
+  @Test
+  fun attachChild_afterPendingDetach_shouldKeepChildAttached() {
+    val child = TestRouter()
+    root.attachChild(child, "child")
+
+    scheduler.detachChild(root, child, Priority.DEFERRED) { events += "detached" }
+    scheduler.attachChild(root, child, "child", Priority.VISIBLE) { events += "attached" }
+    scheduler.flush()
+
+    assertThat(events).isEmpty()
+    assertThat(root.getChildren()).containsExactly(child)
+    assertThat(child.interactor.isAttached()).isTrue()
+    assertThat(scheduler.pendingCount).isEqualTo(0)
+  }
+
+  @Test
+  fun flush_whenParentDetachedOutsideScheduler_shouldDropTransitions() {
+    val parent = TestRouter()
+    val attachedChild = TestRouter()
+    val newChild = TestRouter()
+    root.attachChild(parent, "parent")
+    parent.attachChild(attachedChild, "attached")
+    scheduler.attachChild(parent, newChild, "new") { events += "attached" }
+    scheduler.detachChild(parent, attachedChild) { events += "detached" }
+
+    root.detachChild(parent)
+    scheduler.flush()
+
+    assertThat(events).isEmpty()
+    assertThat(newChild.interactor.isAttached()).isFalse()
+    assertThat(scheduler.pendingCount).isEqualTo(0)
+  }
+
+  private class TestInteractor : Interactor<Any, Router<*>>(Any())
+
+  private class TestRouter : Router<TestInteractor>(TestInteractor())
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class RouterStateSavingTest {
+
+  @Test
+  fun saveInstanceState_whenSubtreeClean_shouldReuseCapturedChildState() {
+    val parentInteractor = SavingInteractor(incremental = true)
+    val childInteractor = SavingInteractor(incremental = true)
+    val parent = SavingRouter(parentInteractor)
+    val child = SavingRouter(childInteractor)
+    parent.dispatchAttach(null)
+    parent.attachChild(child)
+
+    val first = Bundle().also { parent.saveInstanceStateInternal(it) }
+    val second = Bundle().also { parent.saveInstanceStateInternal(it) }
+
+    assertThat(childInteractor.saveCount).isEqualTo(1)
+    assertThat(parentInteractor.saveCount).isEqualTo(2)
+    assertThat(childState(second, child)?.getString(KEY_SAVE))
+      .isEqualTo(childState(first, child)?.getString(KEY_SAVE))
+  }
+
+  @Test
+  fun saveInstanceState_whenDescendantMarkedDirty_shouldSaveAgain() {
+    val childInteractor = SavingInteractor(incremental = true)
+    val grandChildInteractor = SavingInteractor(incremental = true)
+    val parent = SavingRouter(SavingInteractor(incremental = true))
+    val child = SavingRouter(childInteractor)
+    val grandChild = SavingRouter(grandChildInteractor)
+    parent.dispatchAttach(null)
+    parent.attachChild(child)
+    child.attachChild(grandChild)
+    parent.saveInstanceStateInternal(Bundle())
+
+    grandChildInteractor.markDirty()
+    parent.saveInstanceStateInternal(Bundle())
+
+    assertThat(grandChildInteractor.saveCount).isEqualTo(2)
+    assertThat(childInteractor.saveCount).isEqualTo(2)
+  }
+
+  @Test
+  fun saveInstanceState_whenChildAttached_shouldSaveParentAgain() {
+    val childInteractor = SavingInteractor(incremental = true)
+    val parent = SavingRouter(SavingInteractor(incremental = true))
+    val child = SavingRouter(childInteractor)
+    parent.dispatchAttach(null)
+    parent.attachChild(child)
+    parent.saveInstanceStateInternal(Bundle())
+
+    val newChild = SavingRouter(SavingInteractor(incremental = true))
+    child.attachChild(newChild, "new")
+    val outState = Bundle().also { parent.saveInstanceStateInternal(it) }
+
+    assertThat(childInteractor.saveCount).isEqualTo(2)
+    assertThat(
+        childState(outState, child)
+          ?.getBundleExtra(Router.KEY_CHILD_ROUTERS)
+          ?.getBundleExtra("new"),
+      )
+      .isNotNull()
+  }
+
+  @Test
+  fun saveInstanceState_whenNotOptedIn_shouldAlwaysSave() {
+    val childInteractor = SavingInteractor(incremental = false)
+    val parent = SavingRouter(SavingInteractor(incremental = false))
+    parent.dispatchAttach(null)
+    parent.attachChild(SavingRouter(childInteractor))
+
+    parent.saveInstanceStateInternal(Bundle())
+    parent.saveInstanceStateInternal(Bundle())
+
+    assertThat(childInteractor.saveCount).isEqualTo(2)
+  }
+
+  @Test
+  fun saveInstanceState_whenCompressedByBudget_shouldRestoreChildState() {
+    RibStateMetering.budget = RibStateBudget(1, RibStateBudget.Action.COMPRESS)
+    val parent = SavingRouter(SavingInteractor(incremental = false))
+    parent.dispatchAttach(null)
+    parent.attachChild(SavingRouter(SavingInteractor(incremental = false, critical = false)), "c")
+    val outState = Bundle()
+    val restoredChildInteractor = SavingInteractor(incremental = false)
+    try {
+      parent.saveInstanceStateInternal(outState)
+
+      val restoredParent = SavingRouter(SavingInteractor(incremental = false))
+      restoredParent.dispatchAttach(outState)
+      restoredParent.attachChild(SavingRouter(restoredChildInteractor), "c")
+    } finally {
+      RibStateMetering.budget = null
+    }
+
+    assertThat(restoredChildInteractor.restoredState).isEqualTo("save1")
+    assertThat(outState.getBundleExtra(Router.KEY_CHILD_ROUTERS)?.getBundleExtra("c"))
+      .isNotNull()
+  }
+
+  @Test
+  fun snapshot_shouldMeasureParcelableValuesByTheirContent() {
+    val payload = android.os.Bundle().apply { putByteArray("payload", ByteArray(PAYLOAD_BYTES)) }
+
+    val snapshot = RibStateBundle().apply { putParcelable("payload", payload) }.snapshot()
+
+    assertThat(snapshot.hasUnmeasuredValues).isFalse()
+    assertThat(snapshot.sizeBytes).isGreaterThan(PAYLOAD_BYTES)
+  }
+
+  private fun childState(outState: Bundle, child: Router<*>): Bundle? =
+    outState.getBundleExtra(Router.KEY_CHILD_ROUTERS)?.getBundleExtra(child.tag!!)
+
+  private class SavingInteractor(
+    private val incremental: Boolean,
+    private val critical: Boolean = true,
+  ) : Interactor<Any, Router<*>>(Any()) {
+    var saveCount = 0
+    var restoredState: String? = null
+
+    override val isIncrementalStateSavingEnabled: Boolean
+      get() = incremental
+
+    override val isInstanceStateCritical: Boolean
+      get() = critical
+
+    override fun didBecomeActive(savedInstanceState: Bundle?) {
+      restoredState = savedInstanceState?.getString(KEY_SAVE)
+    }
+
+    override fun onSaveInstanceState(outState: Bundle) {
+      saveCount++
+      outState.putString(KEY_SAVE, "save$saveCount")
+    }
+
+    fun markDirty() {
+      markInstanceStateDirty()
+    }
+  }
+
+  private class SavingRouter(interactor: SavingInteractor) : Router<SavingInteractor>(interactor)
+
+  private companion object {
+    private const val KEY_SAVE = "save"
+    private const val PAYLOAD_BYTES = 10_000
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import android.os.Build
+import android.os.Trace
+import com.google.common.truth.Truth.assertThat
+import org.junit.After
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.Config
+import org.robolectric.shadows.ShadowTrace
+
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [Build.VERSION_CODES.Q])
+class TraceSectionRibActionTracerTest {
+  private val tracer = TraceSectionRibActionTracer()
+  private val interactor = TracedInteractor()
+
+  @After
+  fun tearDown() {
+    ShadowTrace.setEnabled(true)
+  }
+
+  @Test
+  fun onRibActionEnded_whenTracingStartedMidAction_doesNotEndOtherSections() {
+    ShadowTrace.setEnabled(false)
+    start(RibActionEmitterType.INTERACTOR)
+    ShadowTrace.setEnabled(true)
+    Trace.beginSection("outer")
+
+    end(RibActionEmitterType.INTERACTOR)
+
+    assertThat(ShadowTrace.getCurrentSections()).containsExactly("outer")
+    Trace.endSection()
+  }
+
+  @Test
+  fun onRibActionEnded_whenNested_endsOnlySectionsItBegan() {
+    ShadowTrace.setEnabled(false)
+    start(RibActionEmitterType.INTERACTOR)
+    ShadowTrace.setEnabled(true)
+    start(RibActionEmitterType.PRESENTER)
+
+    assertThat(ShadowTrace.getCurrentSections()).containsExactly("TracedInteractor.didLoad")
+    end(RibActionEmitterType.PRESENTER)
+    assertThat(ShadowTrace.getCurrentSections()).isEmpty()
+
+    Trace.beginSection("outer")
+    end(RibActionEmitterType.INTERACTOR)
+
+    assertThat(ShadowTrace.getCurrentSections()).containsExactly("outer")
+    Trace.endSection()
+  }
+
+  private fun start(emitterType: RibActionEmitterType) {
+    tracer.onRibActionStarted(interactor, emitterType, RibEventType.ATTACHED)
+  }
+
+  private fun end(emitterType: RibActionEmitterType) {
+    tracer.onRibActionEnded(interactor, emitterType, RibEventType.ATTACHED, 0L, 0L)
+  }
+
+  private class TracedInteractor : Interactor<Unit, Router<*>>()
+}
@@ -19,6 +19,10 @@ plugins {
     alias(libs.plugins.maven.publish)
 }
 
+kotlin.compilerOptions {
+    optIn.add("com.uber.rib.core.internal.CoroutinesFriendModuleApi")
+}
+
 dependencies {
     // RIBs themselves don't need to use dagger. But the base library does use dagger
     // in order to invert a dependency. With a bit of work this could be removed.
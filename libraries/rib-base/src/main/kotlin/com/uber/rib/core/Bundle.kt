@@ -18,11 +18,30 @@ package com.uber.rib.core
 import android.os.Parcelable
 
 /** Uber wrapper around Android Bundle to avoid Android and Robolectric dependencies. */
-public open class Bundle
-@JvmOverloads
-constructor(
-  private val androidBundle: android.os.Bundle = android.os.Bundle(),
-) {
+public open class Bundle {
+  private val backingBundle: android.os.Bundle?
+
+  private val androidBundle: android.os.Bundle
+    get() =
+      checkNotNull(backingBundle) {
+        "${javaClass.simpleName} is not backed by an android.os.Bundle."
+      }
+
+  @JvmOverloads
+  public constructor(androidBundle: android.os.Bundle = android.os.Bundle()) {
+    backingBundle = androidBundle
+  }
+
+  /** For subclasses keeping their values outside of an [android.os.Bundle]. */
+  internal constructor(@Suppress("UNUSED_PARAMETER") unbacked: Unit) {
+    backingBundle = null
+  }
+
+  /** @return a new, empty [Bundle] of the same kind, used for nested RIB state. */
+  internal open fun newBundle(): Bundle = Bundle()
+
+  /** @return the [android.os.Bundle] holding the values of this [Bundle]. */
+  internal open fun toAndroidBundle(): android.os.Bundle = androidBundle
 
   /**
    * Returns the value associated with the given key, or defaultValue if no mapping of the desired
@@ -72,7 +91,7 @@ constructor(
    */
   public open fun putBundleExtra(key: String, bundle: Bundle?) {
     if (bundle != null) {
-      androidBundle.putParcelable(key, bundle.androidBundle)
+      androidBundle.putParcelable(key, bundle.toAndroidBundle())
     } else {
       androidBundle.putParcelable(key, null)
     }
@@ -27,13 +27,8 @@ import io.reactivex.Observable
 import javax.inject.Inject
 import kotlin.properties.ReadWriteProperty
 import kotlin.reflect.KProperty
-import kotlinx.coroutines.ExperimentalForInheritanceCoroutinesApi
-import kotlinx.coroutines.channels.BufferOverflow
-import kotlinx.coroutines.flow.FlowCollector
-import kotlinx.coroutines.flow.MutableSharedFlow
-import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.SharedFlow
-import kotlinx.coroutines.rx2.asObservable
 
 /**
  * The base implementation for all [Interactor]s.
@@ -41,31 +36,24 @@ import kotlinx.coroutines.rx2.asObservable
  * @param <P> the type of [Presenter].
  * @param <R> the type of [Router].
  */
-public abstract class Interactor<P : Any, R : Router<*>>() : InteractorType, RibActionEmitter {
+public abstract class Interactor<P : Any, R : Router<*>>() :
+  InteractorType,
+  RibActionEmitter,
+  CoroutineScopeHolder,
+  LifecycleJobProvider,
+  RibSubtreeDispatchersHolder {
   @Inject public lateinit var injectedPresenter: P
 
   @CoreFriendModuleApi public var actualPresenter: P? = null
 
-  private val useStateFlow
-    get() = RibEvents.useStateFlowInteractorEvent
-
-  private val _lifecycleFlow: MutableSharedFlow<InteractorEvent?> =
-    if (useStateFlow) {
-      MutableStateFlow(null)
-    } else {
-      MutableSharedFlow(
-        1,
-        0,
-        BufferOverflow.DROP_OLDEST,
-      )
-    }
-  public open val lifecycleFlow: SharedFlow<InteractorEvent> = NonNullSharedFlow(_lifecycleFlow)
-
-  @Volatile private var _lifecycleObservable: Observable<InteractorEvent>? = null
+  @OptIn(CoreFriendModuleApi::class)
+  private val lifecycleState = RibLifecycle<InteractorEvent>()
 
   @OptIn(CoreFriendModuleApi::class)
-  private val lifecycleObservable
-    get() = ::_lifecycleObservable.setIfNullAndGet { lifecycleFlow.asObservable() }
+  public open val lifecycleFlow: SharedFlow<InteractorEvent>
+    get() = lifecycleState.asFlow()
+
+  final override val coroutineScopeSlot: CoroutineScopeSlot = CoroutineScopeSlot()
 
   private val routerDelegate = InitOnceProperty<R>()
 
@@ -73,6 +61,10 @@ public abstract class Interactor<P : Any, R : Router<*>>() : InteractorType, Rib
   public open var router: R by routerDelegate
     protected set
 
+  /** The [Router.subtreeDispatchers] of [router], if set. */
+  final override val subtreeDispatchers: RibSubtreeDispatchers?
+    get() = routerDelegate.valueOrNull?.subtreeDispatchers
+
   @OptIn(CoreFriendModuleApi::class)
   protected constructor(presenter: P) : this() {
     this.actualPresenter = presenter
@@ -80,21 +72,26 @@ public abstract class Interactor<P : Any, R : Router<*>>() : InteractorType, Rib
 
   // ---- LifecycleScopeProvider overrides ---- //
 
-  final override fun lifecycle(): Observable<InteractorEvent> = lifecycleObservable
+  @OptIn(CoreFriendModuleApi::class)
+  final override fun lifecycle(): Observable<InteractorEvent> = lifecycleState.asObservable()
 
   final override fun correspondingEvents(): CorrespondingEventsFunction<InteractorEvent> =
     LIFECYCLE_MAP_FUNCTION
 
-  final override fun peekLifecycle(): InteractorEvent? = lifecycleFlow.replayCache.lastOrNull()
+  @OptIn(CoreFriendModuleApi::class)
+  final override fun peekLifecycle(): InteractorEvent? = lifecycleState.current
 
   @OptIn(CoreFriendModuleApi::class)
   final override fun requestScope(): CompletableSource =
-    lifecycleFlow.asScopeCompletable(lifecycleRange)
+    lifecycleState.requestScope(lifecycleRange)
+
+  @OptIn(CoreFriendModuleApi::class)
+  final override fun lifecycleJob(): Job = lifecycleState.jobUntil(lifecycleRange)
 
   // ---- InteractorType overrides ---- //
 
-  override fun isAttached(): Boolean =
-    lifecycleFlow.replayCache.lastOrNull() == InteractorEvent.ACTIVE
+  @OptIn(CoreFriendModuleApi::class)
+  override fun isAttached(): Boolean = lifecycleState.current == InteractorEvent.ACTIVE
 
   override fun handleBackPress(): Boolean = false
 
@@ -112,6 +109,7 @@ public abstract class Interactor<P : Any, R : Router<*>>() : InteractorType, Rib
   protected open fun willResignActive() {}
 
   internal fun onSaveInstanceStateInternal(outState: Bundle) {
+    isInstanceStateDirty = false
     onSaveInstanceState(outState)
   }
 
@@ -122,8 +120,44 @@ public abstract class Interactor<P : Any, R : Router<*>>() : InteractorType, Rib
    */
   protected open fun onSaveInstanceState(outState: Bundle) {}
 
+  /**
+   * When `true`, [onSaveInstanceState] is only called again once [markInstanceStateDirty] was
+   * called since the previous save, and the state of this RIB is otherwise reused, along with the
+   * state of its router and its clean children. Defaults to `false`.
+   *
+   * Interactors opting in must call [markInstanceStateDirty] whenever the state they save changes.
+   */
+  protected open val isIncrementalStateSavingEnabled: Boolean
+    get() = false
+
+  @Volatile private var isInstanceStateDirty = true
+
+  /**
+   * Marks the state saved in [onSaveInstanceState] as changed. Only relevant when
+   * [isIncrementalStateSavingEnabled] is `true`.
+   */
+  protected fun markInstanceStateDirty() {
+    isInstanceStateDirty = true
+  }
+
+  /**
+   * When `false`, the state of this RIB's subtree may be compressed or dropped to keep the saved
+   * state of its parent within a [RibStateBudget]. Defaults to `true`.
+   */
+  protected open val isInstanceStateCritical: Boolean
+    get() = true
+
+  internal fun isIncrementalStateSavingEnabledInternal(): Boolean = isIncrementalStateSavingEnabled
+
+  internal fun isInstanceStateCriticalInternal(): Boolean = isInstanceStateCritical
+
+  internal fun isInstanceStateClean(): Boolean =
+    isIncrementalStateSavingEnabled && !isInstanceStateDirty
+
+  @OptIn(CoreFriendModuleApi::class)
   public open fun dispatchAttach(savedInstanceState: Bundle?) {
-    _lifecycleFlow.tryEmit(InteractorEvent.ACTIVE)
+    isInstanceStateDirty = true
+    lifecycleState.emit(InteractorEvent.ACTIVE)
 
     val presenter = (getPresenter() as? Presenter)
     presenter?.let {
@@ -145,6 +179,7 @@ public abstract class Interactor<P : Any, R : Router<*>>() : InteractorType, Rib
     }
   }
 
+  @OptIn(CoreFriendModuleApi::class)
   public open fun dispatchDetach(): P {
     val presenter = (getPresenter() as? Presenter)
     presenter?.let {
@@ -165,7 +200,7 @@ public abstract class Interactor<P : Any, R : Router<*>>() : InteractorType, Rib
       willResignActive()
     }
 
-    _lifecycleFlow.tryEmit(InteractorEvent.INACTIVE)
+    lifecycleState.emit(InteractorEvent.INACTIVE)
 
     return getPresenter()
   }
@@ -204,6 +239,9 @@ public abstract class Interactor<P : Any, R : Router<*>>() : InteractorType, Rib
   private inner class InitOnceProperty<T> : ReadWriteProperty<Any, T> {
     private var backingField: T? = null
 
+    val valueOrNull: T?
+      get() = backingField
+
     override fun getValue(thisRef: Any, property: KProperty<*>): T {
       if (backingField == null) {
         throw IllegalStateException("Attempting to get value before it has been set.")
@@ -232,20 +270,3 @@ public abstract class Interactor<P : Any, R : Router<*>>() : InteractorType, Rib
       }
   }
 }
-
-// See https://github.com/Kotlin/kotlinx.coroutines/issues/2514
-@OptIn(ExperimentalForInheritanceCoroutinesApi::class)
-private class NonNullSharedFlow<R : Any>(
-  private val upstream: SharedFlow<R?>,
-) : SharedFlow<R> {
-  override val replayCache: List<R>
-    get() = upstream.replayCache.filterNotNull()
-
-  override suspend fun collect(collector: FlowCollector<R>): Nothing {
-    upstream.collect { value ->
-      if (value != null) {
-        collector.emit(value)
-      }
-    }
-  }
-}
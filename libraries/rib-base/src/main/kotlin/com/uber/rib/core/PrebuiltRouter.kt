@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import java.util.concurrent.atomic.AtomicBoolean
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.launch
+
+/**
+ * A router subtree built ahead of time by [prebuildRouter], to be attached with
+ * [Router.attachChild].
+ *
+ * The build runs at most once. Attaching the router suspends until the background build
+ * completed, so that the main thread never blocks on it. The router is only built on the attaching
+ * thread if the background build did not run, e.g. because it was cancelled, or failed.
+ */
+public class PrebuiltRouter<R : Router<*>> internal constructor(build: () -> R) {
+  private val router = lazy(LazyThreadSafetyMode.SYNCHRONIZED, build)
+  private val isConsumed = AtomicBoolean(false)
+
+  @Volatile internal var job: Job? = null
+
+  /** Whether the router has been built. */
+  public val isBuilt: Boolean
+    get() = router.isInitialized()
+
+  /** Suspends until the background build completed, and returns the router. */
+  public suspend fun await(): R {
+    job?.join()
+    return router.value
+  }
+
+  internal fun buildInBackground() {
+    try {
+      router.value
+    } catch (e: Exception) {
+      // The build is retried, and the exception rethrown, when the router is attached.
+      Rib.getConfiguration().handleNonFatalWarning("Failed to prebuild router.", e)
+    }
+  }
+
+  internal suspend fun consume(): R {
+    check(isConsumed.compareAndSet(false, true)) { "A prebuilt router can only be attached once." }
+    return await()
+  }
+}
+
+/**
+ * Builds a router subtree on [dispatcher], so that only attaching it has to happen on the main
+ * thread. [build] typically calls a [Builder]'s build method: creating the Dagger component,
+ * injecting the interactor and initializing the router. It should only inflate views that can
+ * safely be inflated off the main thread.
+ *
+ * The background build is cancelled with this scope. Attaching the result still builds it, on the
+ * attaching thread, when the background build did not run.
+ *
+ * @param dispatcher to build on.
+ * @param build creates the router.
+ * @return a handle to attach with [Router.attachChild].
+ */
+public fun <R : Router<*>> CoroutineScope.prebuildRouter(
+  dispatcher: CoroutineDispatcher = RibDispatchers.Default,
+  build: () -> R,
+): PrebuiltRouter<R> {
+  val prebuiltRouter = PrebuiltRouter(build)
+  prebuiltRouter.job = launch(dispatcher) { prebuiltRouter.buildInBackground() }
+  return prebuiltRouter
+}
@@ -21,10 +21,8 @@ import com.uber.rib.core.internal.CoreFriendModuleApi
 import com.uber.rib.core.lifecycle.PresenterEvent
 import io.reactivex.CompletableSource
 import io.reactivex.Observable
-import kotlinx.coroutines.channels.BufferOverflow
-import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.SharedFlow
-import kotlinx.coroutines.rx2.asObservable
 import org.checkerframework.checker.guieffect.qual.UIEffect
 
 /**
@@ -34,31 +32,33 @@ import org.checkerframework.checker.guieffect.qual.UIEffect
  * practice this caused confusion: if both a presenter and interactor can perform complex rx logic
  * it becomes unclear where you should write your bussiness logic.
  */
-public abstract class Presenter : ScopeProvider, RibActionEmitter {
-  private val _lifecycleFlow = MutableSharedFlow<PresenterEvent>(1, 0, BufferOverflow.DROP_OLDEST)
-  public open val lifecycleFlow: SharedFlow<PresenterEvent>
-    get() = _lifecycleFlow
-
-  @Volatile private var _lifecycleObservable: Observable<PresenterEvent>? = null
+public abstract class Presenter :
+  ScopeProvider, RibActionEmitter, CoroutineScopeHolder, LifecycleJobProvider {
+  @OptIn(CoreFriendModuleApi::class)
+  private val lifecycleState = RibLifecycle<PresenterEvent>()
 
   @OptIn(CoreFriendModuleApi::class)
-  private val lifecycleObservable
-    get() = ::_lifecycleObservable.setIfNullAndGet { lifecycleFlow.asObservable() }
+  public open val lifecycleFlow: SharedFlow<PresenterEvent>
+    get() = lifecycleState.asFlow()
+
+  final override val coroutineScopeSlot: CoroutineScopeSlot = CoroutineScopeSlot()
 
   /** @return `true` if the presenter is loaded, `false` if not. */
   protected var isLoaded: Boolean = false
     private set
 
+  @OptIn(CoreFriendModuleApi::class)
   public open fun dispatchLoad() {
     isLoaded = true
-    _lifecycleFlow.tryEmit(PresenterEvent.LOADED)
+    lifecycleState.emit(PresenterEvent.LOADED)
     didLoad()
   }
 
+  @OptIn(CoreFriendModuleApi::class)
   public open fun dispatchUnload() {
     isLoaded = false
     willUnload()
-    _lifecycleFlow.tryEmit(PresenterEvent.UNLOADED)
+    lifecycleState.emit(PresenterEvent.UNLOADED)
   }
 
   /** Tells the presenter that it has finished loading. */
@@ -71,11 +71,15 @@ public abstract class Presenter : ScopeProvider, RibActionEmitter {
   @UIEffect @CallSuper protected open fun willUnload() {}
 
   /** @return an observable of this controller's lifecycle events. */
-  public fun lifecycle(): Observable<PresenterEvent> = lifecycleObservable
+  @OptIn(CoreFriendModuleApi::class)
+  public fun lifecycle(): Observable<PresenterEvent> = lifecycleState.asObservable()
 
   @OptIn(CoreFriendModuleApi::class)
   final override fun requestScope(): CompletableSource =
-    lifecycleFlow.asScopeCompletable(lifecycleRange)
+    lifecycleState.requestScope(lifecycleRange)
+
+  @OptIn(CoreFriendModuleApi::class)
+  final override fun lifecycleJob(): Job = lifecycleState.jobUntil(lifecycleRange)
 
   internal companion object {
     @get:JvmSynthetic internal val lifecycleRange = PresenterEvent.LOADED..PresenterEvent.UNLOADED
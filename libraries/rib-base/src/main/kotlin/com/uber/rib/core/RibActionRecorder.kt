@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Allocation-free alternative to [RibEvents.ribActionEvents].
+ *
+ * Every RIB action is written into preallocated ring buffer slots as primitives: a
+ * [System.nanoTime] timestamp, an interned emitter class id (see [emitterName]) and the id of the
+ * calling thread. Consumers periodically [drainTo] a reusable [RibActionBatch]. When consumers fall
+ * behind, the oldest records are overwritten and counted in [RibActionBatch.droppedCount].
+ *
+ * Enable with [RibEvents.enableRibActionRecording].
+ */
+public class RibActionRecorder internal constructor(capacity: Int) {
+  private val capacity = capacity.coerceAtLeast(1)
+  private val timestamps = LongArray(this.capacity)
+  private val emitterIds = IntArray(this.capacity)
+  private val threadIds = LongArray(this.capacity)
+  private val emitterTypes = arrayOfNulls<RibActionEmitterType>(this.capacity)
+  private val eventTypes = arrayOfNulls<RibEventType>(this.capacity)
+  private val actionStates = arrayOfNulls<RibActionState>(this.capacity)
+
+  // Guarded by `this`. Writes come mostly from the main thread, so the lock is uncontended.
+  private var writeCount = 0L
+  private var readCount = 0L
+
+  private val emitterClassIds = ConcurrentHashMap<Class<*>, Int>()
+  private val emitterNames = ArrayList<String>()
+
+  internal fun record(
+    ribActionEmitter: RibActionEmitter,
+    ribActionEmitterType: RibActionEmitterType,
+    ribEventType: RibEventType,
+    ribActionState: RibActionState,
+  ) {
+    val timestamp = System.nanoTime()
+    val emitterId = emitterIdOf(ribActionEmitter.javaClass)
+    val threadId = Thread.currentThread().id
+    synchronized(this) {
+      val slot = (writeCount % capacity).toInt()
+      timestamps[slot] = timestamp
+      emitterIds[slot] = emitterId
+      threadIds[slot] = threadId
+      emitterTypes[slot] = ribActionEmitterType
+      eventTypes[slot] = ribEventType
+      actionStates[slot] = ribActionState
+      writeCount++
+    }
+  }
+
+  /**
+   * Moves up to [RibActionBatch.capacity] pending records into [batch], replacing its previous
+   * content.
+   *
+   * @return the number of records copied.
+   */
+  public fun drainTo(batch: RibActionBatch): Int =
+    synchronized(this) {
+      val oldest = maxOf(readCount, writeCount - capacity)
+      val dropped = oldest - readCount
+      val count = minOf(writeCount - oldest, batch.capacity.toLong()).toInt()
+      for (i in 0 until count) {
+        val slot = ((oldest + i) % capacity).toInt()
+        batch.timestamps[i] = timestamps[slot]
+        batch.emitterIds[i] = emitterIds[slot]
+        batch.threadIds[i] = threadIds[slot]
+        batch.emitterTypes[i] = emitterTypes[slot]
+        batch.eventTypes[i] = eventTypes[slot]
+        batch.actionStates[i] = actionStates[slot]
+      }
+      readCount = oldest + count
+      batch.size = count
+      batch.droppedCount = dropped
+      count
+    }
+
+  /** @return the class name of the emitter behind an id from [RibActionBatch.emitterId]. */
+  public fun emitterName(emitterId: Int): String =
+    synchronized(emitterNames) { emitterNames[emitterId] }
+
+  private fun emitterIdOf(emitterClass: Class<*>): Int =
+    emitterClassIds[emitterClass]
+      ?: synchronized(emitterNames) {
+        emitterClassIds[emitterClass]
+          ?: emitterNames.size.also {
+            emitterNames.add(emitterClass.name)
+            emitterClassIds[emitterClass] = it
+          }
+      }
+}
+
+/**
+ * Reusable, consumer-owned container of RIB action records read from [RibActionRecorder.drainTo].
+ *
+ * Records are indexed from 0 until [size].
+ */
+public class RibActionBatch(public val capacity: Int) {
+  internal val timestamps = LongArray(capacity)
+  internal val emitterIds = IntArray(capacity)
+  internal val threadIds = LongArray(capacity)
+  internal val emitterTypes = arrayOfNulls<RibActionEmitterType>(capacity)
+  internal val eventTypes = arrayOfNulls<RibEventType>(capacity)
+  internal val actionStates = arrayOfNulls<RibActionState>(capacity)
+
+  /** Number of records in this batch. */
+  public var size: Int = 0
+    internal set
+
+  /** Number of records overwritten before they could be drained into this batch. */
+  public var droppedCount: Long = 0
+    internal set
+
+  /** @return the [System.nanoTime] at which the record at [index] happened. */
+  public fun timestampNanos(index: Int): Long = timestamps[checkIndex(index)]
+
+  /** @return the interned emitter class id. See [RibActionRecorder.emitterName]. */
+  public fun emitterId(index: Int): Int = emitterIds[checkIndex(index)]
+
+  /** @return the id of the thread on which the RIB action happened. */
+  public fun threadId(index: Int): Long = threadIds[checkIndex(index)]
+
+  public fun ribActionEmitterType(index: Int): RibActionEmitterType =
+    emitterTypes[checkIndex(index)]!!
+
+  public fun ribEventType(index: Int): RibEventType = eventTypes[checkIndex(index)]!!
+
+  public fun ribActionState(index: Int): RibActionState = actionStates[checkIndex(index)]!!
+
+  private fun checkIndex(index: Int): Int {
+    if (index < 0 || index >= size) {
+      throw IndexOutOfBoundsException("Index: $index, size: $size")
+    }
+    return index
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+/**
+ * Receives timing for every RIB action, e.g. `Interactor.didBecomeActive`,
+ * `Interactor.willResignActive`, `Presenter.didLoad`, `Presenter.willUnload`, `Worker.onStart` and
+ * `Worker.onStop`.
+ *
+ * Unlike [RibEvents.ribActionEvents], spans are measured by the framework itself and identify the
+ * [RibActionEmitter] instance, so two instances of the same class running at once are reported
+ * separately.
+ *
+ * Both callbacks run synchronously on the thread performing the RIB action, so implementations
+ * must be fast. Install with [RibEvents.addRibActionTracer], next to other tracers, or with
+ * [RibEvents.setRibActionTracer].
+ */
+public interface RibActionTracer {
+
+  /** Called right before [ribActionEmitter] runs the RIB action. */
+  public fun onRibActionStarted(
+    ribActionEmitter: RibActionEmitter,
+    ribActionEmitterType: RibActionEmitterType,
+    ribEventType: RibEventType,
+  ) {}
+
+  /**
+   * Called right after [ribActionEmitter] ran the RIB action, including when the action threw.
+   *
+   * @param startNanos [System.nanoTime] right before the RIB action started.
+   * @param durationNanos duration of the RIB action in nanoseconds.
+   */
+  public fun onRibActionEnded(
+    ribActionEmitter: RibActionEmitter,
+    ribActionEmitterType: RibActionEmitterType,
+    ribEventType: RibEventType,
+    startNanos: Long,
+    durationNanos: Long,
+  )
+}
+
+/**
+ * @return the name of the callback behind a RIB action, e.g. `didBecomeActive` for an attaching
+ *   [RibActionEmitterType.INTERACTOR].
+ */
+public fun RibActionEmitterType.ribActionName(ribEventType: RibEventType): String =
+  when (this) {
+    RibActionEmitterType.ROUTER ->
+      if (ribEventType == RibEventType.ATTACHED) "attachChild" else "detachChild"
+    RibActionEmitterType.PRESENTER ->
+      if (ribEventType == RibEventType.ATTACHED) "didLoad" else "willUnload"
+    RibActionEmitterType.INTERACTOR ->
+      if (ribEventType == RibEventType.ATTACHED) "didBecomeActive" else "willResignActive"
+    RibActionEmitterType.DEPRECATED_WORKER ->
+      if (ribEventType == RibEventType.ATTACHED) "onStart" else "onStop"
+  }
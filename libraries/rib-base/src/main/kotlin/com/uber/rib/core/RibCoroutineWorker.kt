@@ -100,6 +100,9 @@ private class BindWorkerHandleImpl(
  * scope (if any), or pass in a custom dispatcher as [context] to specify a different dispatcher. If
  * there is no dispatcher in [CoroutineScope] nor in [context], [RibDispatchers.Default] is used.
  *
+ * When the receiver scope has [RibSubtreeDispatchers], [RibDispatchers.IO] and
+ * [RibDispatchers.Default] in [context] are replaced by their bounded counterparts.
+ *
  * The scope passed on to [RibCoroutineWorker.onStart] as a parameter is a child scope of the
  * [CoroutineScope] receiver, but with the additional [context] elements and a [SupervisorJob].
  *
@@ -115,20 +118,76 @@ private class BindWorkerHandleImpl(
 public fun CoroutineScope.bind(
   worker: RibCoroutineWorker,
   context: CoroutineContext = RibDispatchers.Default,
+): BindWorkerHandle = bind(worker, WorkerStartPriority.CRITICAL, context)
+
+/**
+ * Binds [worker] like [bind], but only calls [RibCoroutineWorker.onStart] once
+ * [RibWorkerStartScheduler] releases [priority]. Until then, the returned [BindWorkerHandle] is
+ * active; if the receiver scope is cancelled or the handle is unbound before the release, the
+ * worker is dropped without being started nor stopped.
+ */
+@JvmOverloads
+public fun CoroutineScope.bind(
+  worker: RibCoroutineWorker,
+  priority: WorkerStartPriority,
+  context: CoroutineContext = RibDispatchers.Default,
 ): BindWorkerHandle {
   var bindJob: CompletableJob? = null // A job that completes once worker's onStart completes
+  val confinedContext = coroutineContext[RibSubtreeDispatchers]?.confine(context) ?: context
   val unbindJob =
-    launch(context, CoroutineStart.UNDISPATCHED) {
+    launch(confinedContext + workerOwner(worker), CoroutineStart.UNDISPATCHED) {
       val job = createBindingJob()
       bindJob = job
       // launch again -- this time, we will dispatch if installed dispatcher
       // tell us to (CoroutineDispatcher.isDispatchNeeded()).
-      launch { bindAndAwaitCancellation(worker, job) }
+      launch {
+        RibWorkerStartScheduler.awaitStart(priority)
+        bindAndAwaitCancellation(worker, job)
+      }
     }
   // !! is safe here -- outer coroutine was started undispatched.
   return BindWorkerHandleImpl(bindJob!!, unbindJob)
 }
 
+/**
+ * Binds [worker] like [bind], but keeps it running for [WorkerRetentionPolicy.gracePeriodMillis]
+ * once the receiver scope is cancelled or the handle is unbound. If the same [worker] instance is
+ * bound again within that window by the same RIB component, e.g. because its router was detached
+ * and re-attached, the running worker is adopted by the new binding instead of being restarted.
+ *
+ * The retained worker keeps the [RibCoroutineOwner] of the binding that started it, and its
+ * coroutines are counted by [RibCoroutineAccounting] in the scope of each binding adopting it.
+ */
+@JvmOverloads
+public fun CoroutineScope.bind(
+  worker: RibCoroutineWorker,
+  retentionPolicy: WorkerRetentionPolicy,
+  context: CoroutineContext = RibDispatchers.Default,
+): BindWorkerHandle {
+  val ownerIdentity = coroutineContext[RibCoroutineOwner]?.identity ?: 0
+  val retainedWorker =
+    SharedRibCoroutineWorker.forKey(
+      RetainedWorkerKey(ownerIdentity, worker),
+      retentionPolicy.gracePeriodMillis,
+      context,
+    ) {
+      worker
+    }
+  return bind(retainedWorker, context)
+}
+
+/** Retained workers are only adopted by bindings from the RIB component that started them. */
+private data class RetainedWorkerKey(val ownerIdentity: Int, val worker: RibCoroutineWorker)
+
+/** How long a worker bound with [bind] keeps running after its binding is gone. */
+public class WorkerRetentionPolicy(public val gracePeriodMillis: Long) {
+  init {
+    require(gracePeriodMillis >= 0L) {
+      "Expected non-negative grace period, but got $gracePeriodMillis"
+    }
+  }
+}
+
 /** Binds [workers] in a scope that is a child of the [CoroutineScope] receiver. */
 @JvmOverloads
 public fun CoroutineScope.bind(
@@ -140,6 +199,33 @@ public fun CoroutineScope.bind(
   }
 }
 
+/** Binds [workers] with [priority] in a scope that is a child of the [CoroutineScope] receiver. */
+@JvmOverloads
+public fun CoroutineScope.bind(
+  workers: Iterable<RibCoroutineWorker>,
+  priority: WorkerStartPriority,
+  coroutineContext: CoroutineContext = RibDispatchers.Default,
+) {
+  for (worker in workers) {
+    bind(worker, priority, coroutineContext)
+  }
+}
+
+/**
+ * Attributes the coroutines of [worker] to it, within the RIB owning the receiver scope. A
+ * [SharedRibCoroutineWorker] is transparent: the worker it wraps is attributed when bound in turn.
+ */
+private fun CoroutineScope.workerOwner(worker: RibCoroutineWorker): CoroutineContext {
+  if (worker is SharedRibCoroutineWorker) return EmptyCoroutineContext
+  val ribOwner = coroutineContext[RibCoroutineOwner]
+  val workerName = worker.javaClass.name
+  return if (ribOwner == null) {
+    RibCoroutineOwner(workerName)
+  } else {
+    RibCoroutineOwner("${ribOwner.name}/$workerName", ribOwner.identity, ribOwner.account)
+  }
+}
+
 private fun CoroutineScope.createBindingJob(): CompletableJob =
   Job(coroutineContext.job).also {
     // Cancel `unbindJob` if `bindJob` has cancelled. This is important to abort `onStart` if
@@ -155,7 +241,14 @@ private fun CoroutineScope.createBindingJob(): CompletableJob =
 private suspend fun bindAndAwaitCancellation(worker: RibCoroutineWorker, bindJob: CompletableJob) {
   try {
     supervisorScope {
-      worker.onStart(this)
+      if (worker is SharedRibCoroutineWorker) {
+        // Only waits for the shared worker, whose onStart is watched in its own binding.
+        worker.onStart(this)
+      } else {
+        RibWorkerWatchdog.watch(worker, RibEventType.ATTACHED, isBlocking = false) {
+          worker.onStart(this)
+        }
+      }
       // In case no cancellation check was done at all in `onStart` (e.g. it did not suspend),
       // we want to cancel it before completing.
       ensureActive()
@@ -164,7 +257,7 @@ private suspend fun bindAndAwaitCancellation(worker: RibCoroutineWorker, bindJob
     }
   } catch (t: Throwable) {
     bindJob.cancelOrCompleteExceptionally(t)
-    worker.onStop(t)
+    RibWorkerWatchdog.watch(worker, RibEventType.DETACHED, isBlocking = true) { worker.onStop(t) }
   }
 }
 
@@ -16,17 +16,26 @@
 package com.uber.rib.core
 
 import androidx.annotation.VisibleForTesting
+import com.uber.rib.core.internal.CoreFriendModuleApi
 import io.reactivex.Observable
 import kotlinx.coroutines.channels.BufferOverflow
 import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.SharedFlow
 import kotlinx.coroutines.flow.asSharedFlow
+import kotlinx.coroutines.flow.flow
 import kotlinx.coroutines.rx2.asObservable
 
 public object RibEvents {
+  private const val DEFAULT_RECORDER_CAPACITY = 1024
+  private const val DEFAULT_WEAK_ROUTER_EVENTS_CAPACITY = 64
+
   private var extraBufferCapacity: Int = Channel.UNLIMITED
 
+  // Zero while router events are delivered through routerEventsFlow.
+  @Volatile private var weakRouterEventsCapacity: Int = 0
+
   /**
    * Sets the extra buffer capacity for [routerEventsFlow] and [ribActionEventsFlow].
    *
@@ -45,18 +54,58 @@ public object RibEvents {
     MutableSharedFlow<RibRouterEvent>(0, extraBufferCapacity, BufferOverflow.DROP_OLDEST)
   }
 
+  // Initialized once weakRouterEventsFlow is first collected, fixing its capacity.
+  private val mutableWeakRouterEventsLazy = lazy {
+    MutableSharedFlow<WeakRibRouterEvent>(
+      0,
+      weakRouterEventsCapacity.coerceAtLeast(1),
+      BufferOverflow.DROP_OLDEST,
+    )
+  }
+  private val mutableWeakRouterEvents by mutableWeakRouterEventsLazy
+
   private val mutableRibDurationEvents by lazy {
     MutableSharedFlow<RibActionInfo>(0, extraBufferCapacity, BufferOverflow.DROP_OLDEST)
   }
 
+  /**
+   * Router events, referencing routers strongly. Stops emitting once [enableWeakRouterEvents] was
+   * called: router events are then only delivered through [weakRouterEventsFlow].
+   */
   @JvmStatic
   public val routerEventsFlow: SharedFlow<RibRouterEvent> by lazy {
     mutableRouterEvents.asSharedFlow()
   }
 
+  /** [routerEventsFlow] as an [Observable], silent as well in weak mode. */
   @JvmStatic
   public val routerEvents: Observable<RibRouterEvent> by lazy { mutableRouterEvents.asObservable() }
 
+  /** Delivery counters of [weakRouterEventsFlow]. */
+  @JvmStatic public val weakRouterEventMetrics: RibRouterEventMetrics = RibRouterEventMetrics()
+
+  /**
+   * Router events emitted once [enableWeakRouterEvents] was called. Collectors share one buffer of
+   * the capacity passed to it: once full, the oldest events are dropped for the collectors that
+   * have not received them yet. Missed events are counted in [weakRouterEventMetrics].
+   */
+  @JvmStatic
+  public val weakRouterEventsFlow: Flow<WeakRibRouterEvent> by lazy {
+    flow {
+      var previousSequenceNumber = -1L
+      mutableWeakRouterEvents.collect { event ->
+        weakRouterEventMetrics.onDelivered(event, previousSequenceNumber)
+        previousSequenceNumber = event.sequenceNumber
+        emit(event)
+      }
+    }
+  }
+
+  @JvmStatic
+  public val weakRouterEvents: Observable<WeakRibRouterEvent> by lazy {
+    weakRouterEventsFlow.asObservable()
+  }
+
   @JvmStatic
   public val ribActionEventsFlow: SharedFlow<RibActionInfo> by lazy {
     mutableRibDurationEvents.asSharedFlow()
@@ -67,9 +116,6 @@ public object RibEvents {
     mutableRibDurationEvents.asObservable()
   }
 
-  internal var useStateFlowInteractorEvent: Boolean = false
-    private set
-
   /** Indicates if [ribActionEvents] will be emitting. */
   public var areRibActionEmissionsAllowed: Boolean = false
     @VisibleForTesting internal set
@@ -83,12 +129,95 @@ public object RibEvents {
     this.areRibActionEmissionsAllowed = true
   }
 
-  /** If true, the [Interactor] will use [MutableStateFlow] for the interactor events. */
+  /** The active [RibActionRecorder], or null unless [enableRibActionRecording] was called. */
   @JvmStatic
-  public fun useStateFlowInteractorEvent() {
-    this.useStateFlowInteractorEvent = true
+  @Volatile
+  public var ribActionRecorder: RibActionRecorder? = null
+    private set
+
+  /**
+   * Records every RIB action into a preallocated [RibActionRecorder] instead of allocating a
+   * [RibActionInfo] per emission. Independent of [enableRibActionEmissions].
+   *
+   * To be called at your earliest application point. Subsequent calls return the same recorder.
+   *
+   * @param capacity number of records kept until they are drained.
+   */
+  @JvmStatic
+  @JvmOverloads
+  public fun enableRibActionRecording(
+    capacity: Int = DEFAULT_RECORDER_CAPACITY,
+  ): RibActionRecorder =
+    synchronized(this) {
+      ribActionRecorder ?: RibActionRecorder(capacity).also { ribActionRecorder = it }
+    }
+
+  // Copied on write, so that RIB actions read it without locking.
+  @Volatile private var ribActionTracers: Array<RibActionTracer> = emptyArray()
+
+  /**
+   * Installs a [RibActionTracer] that measures the duration of every RIB action, replacing all
+   * installed tracers, or removes them all when null. Independent of [enableRibActionEmissions].
+   */
+  @JvmStatic
+  public fun setRibActionTracer(tracer: RibActionTracer?) {
+    synchronized(this) { ribActionTracers = if (tracer == null) emptyArray() else arrayOf(tracer) }
   }
 
+  /**
+   * Installs [tracer] next to the tracers already installed. Tracers are notified in the order
+   * they were added when a RIB action starts, and in reverse order when it ends, so that their
+   * spans nest.
+   */
+  @JvmStatic
+  public fun addRibActionTracer(tracer: RibActionTracer) {
+    synchronized(this) { ribActionTracers += tracer }
+  }
+
+  /** Removes [tracer] if it was installed. */
+  @JvmStatic
+  public fun removeRibActionTracer(tracer: RibActionTracer) {
+    synchronized(this) {
+      ribActionTracers = ribActionTracers.filter { it !== tracer }.toTypedArray()
+    }
+  }
+
+  /**
+   * Delivers router events through [weakRouterEventsFlow] instead of [routerEventsFlow]. Events
+   * then only reference routers weakly, and slow collectors miss the oldest events beyond
+   * [capacity] instead of buffering them, so collecting router events can neither grow memory
+   * nor keep detached routers alive.
+   *
+   * This function must be called on the main thread, before any router event is emitted, and
+   * before [weakRouterEventsFlow] or [weakRouterEvents] is first collected.
+   *
+   * @param capacity number of events buffered, shared by all collectors.
+   * @throws IllegalStateException if [weakRouterEventsFlow] or [weakRouterEvents] was already
+   *   collected, which fixed their capacity.
+   */
+  @JvmStatic
+  @JvmOverloads
+  public fun enableWeakRouterEvents(capacity: Int = DEFAULT_WEAK_ROUTER_EVENTS_CAPACITY) {
+    require(capacity > 0) { "Expected positive capacity, but got $capacity" }
+    check(!mutableWeakRouterEventsLazy.isInitialized()) {
+      "Weak router events must be enabled before weakRouterEvents is first collected."
+    }
+    weakRouterEventsCapacity = capacity
+  }
+
+  /**
+   * Does nothing. [Interactor.lifecycleFlow] now always behaves like a
+   * [kotlinx.coroutines.flow.StateFlow]: it replays the current event to new collectors and only
+   * delivers the latest event to slow collectors.
+   */
+  @Deprecated(
+    message =
+      "Interactor.lifecycleFlow always behaves like a StateFlow now, so this does nothing and " +
+        "can be removed.",
+  )
+  @JvmStatic
+  public fun useStateFlowInteractorEvent() {}
+
   /**
    * @param eventType [RibEventType]
    * @param child [Router]
@@ -97,7 +226,75 @@ public object RibEvents {
    */
   @JvmStatic
   public fun emitRouterEvent(eventType: RibEventType, child: Router<*>, parent: Router<*>?) {
-    mutableRouterEvents.tryEmit(RibRouterEvent(eventType, child, parent))
+    notifyRouterEventListeners(eventType, child, parent)
+    if (weakRouterEventsCapacity == 0) {
+      mutableRouterEvents.tryEmit(RibRouterEvent(eventType, child, parent))
+    } else if (mutableWeakRouterEvents.subscriptionCount.value > 0) {
+      val sequenceNumber = weakRouterEventMetrics.nextSequenceNumber()
+      mutableWeakRouterEvents.tryEmit(WeakRibRouterEvent(eventType, child, parent, sequenceNumber))
+    }
+  }
+
+  /**
+   * Notified synchronously of every router event, on the thread emitting it, whichever way router
+   * events are delivered. Unlike collecting [routerEventsFlow] or [weakRouterEventsFlow], adding a
+   * listener does not depend on [enableWeakRouterEvents].
+   */
+  @CoreFriendModuleApi
+  public fun interface RouterEventListener {
+    public fun onRouterEvent(eventType: RibEventType, router: Router<*>, parentRouter: Router<*>?)
+  }
+
+  @OptIn(CoreFriendModuleApi::class)
+  @Volatile
+  private var routerEventListeners: Array<RouterEventListener> = emptyArray()
+
+  @CoreFriendModuleApi
+  @JvmStatic
+  public fun addRouterEventListener(listener: RouterEventListener) {
+    synchronized(this) { routerEventListeners += listener }
+  }
+
+  @CoreFriendModuleApi
+  @JvmStatic
+  public fun removeRouterEventListener(listener: RouterEventListener) {
+    synchronized(this) {
+      routerEventListeners = routerEventListeners.filter { it !== listener }.toTypedArray()
+    }
+  }
+
+  @OptIn(CoreFriendModuleApi::class)
+  private fun notifyRouterEventListeners(
+    eventType: RibEventType,
+    child: Router<*>,
+    parent: Router<*>?,
+  ) {
+    for (listener in routerEventListeners) {
+      listener.onRouterEvent(eventType, child, parent)
+    }
+  }
+
+  /** Emits [eventType] for each of [children] of [parent], as one batch. */
+  internal fun emitRouterEvents(
+    eventType: RibEventType,
+    children: List<Router<*>>,
+    parent: Router<*>?,
+  ) {
+    for (child in children) {
+      notifyRouterEventListeners(eventType, child, parent)
+    }
+    if (weakRouterEventsCapacity == 0) {
+      for (child in children) {
+        mutableRouterEvents.tryEmit(RibRouterEvent(eventType, child, parent))
+      }
+    } else if (mutableWeakRouterEvents.subscriptionCount.value > 0) {
+      for (child in children) {
+        val sequenceNumber = weakRouterEventMetrics.nextSequenceNumber()
+        mutableWeakRouterEvents.tryEmit(
+          WeakRibRouterEvent(eventType, child, parent, sequenceNumber),
+        )
+      }
+    }
   }
 
   /**
@@ -121,7 +318,29 @@ public object RibEvents {
       ribEventType,
       RibActionState.STARTED,
     )
-    ribAction()
+    val tracers = ribActionTracers
+    if (tracers.isEmpty()) {
+      ribAction()
+    } else {
+      for (tracer in tracers) {
+        tracer.onRibActionStarted(ribActionEmitter, ribActionEmitterType, ribEventType)
+      }
+      val startNanos = System.nanoTime()
+      try {
+        ribAction()
+      } finally {
+        val durationNanos = System.nanoTime() - startNanos
+        for (index in tracers.lastIndex downTo 0) {
+          tracers[index].onRibActionEnded(
+            ribActionEmitter,
+            ribActionEmitterType,
+            ribEventType,
+            startNanos,
+            durationNanos,
+          )
+        }
+      }
+    }
     emitRibEventActionIfNeeded(
       ribActionEmitter,
       ribActionEmitterType,
@@ -145,6 +364,8 @@ public object RibEvents {
     ribEventType: RibEventType,
     ribActionState: RibActionState,
   ) {
+    ribActionRecorder?.record(ribActionEmitter, ribActionEmitterType, ribEventType, ribActionState)
+
     if (!areRibActionEmissionsAllowed) {
       // Unless specified explicitly via [RibEvents.enableRibActionEmissions()] there is no need
       // to create unnecessary objects if there is no intention on observing/collecting RibAction
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.uber.autodispose.lifecycle.LifecycleEndedException
+import com.uber.autodispose.lifecycle.LifecycleNotStartedException
+import com.uber.rib.core.internal.CoreFriendModuleApi
+import io.reactivex.CompletableSource
+import io.reactivex.Observable
+import kotlinx.coroutines.ExperimentalForInheritanceCoroutinesApi
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.FlowCollector
+import kotlinx.coroutines.flow.SharedFlow
+
+/**
+ * Lifecycle state of a RIB component, e.g. an [Interactor], a [Presenter] or an activity.
+ *
+ * The current event is held in a single volatile field, so querying it allocates nothing. Listeners
+ * are kept in a copy-on-write array, and the [SharedFlow] and [Observable] adapters are created
+ * when first requested.
+ *
+ * Listeners are called outside of this object's lock, from a delivery queue that keeps events in
+ * emission order. An event emitted while another one is being delivered, e.g. by a listener, is
+ * delivered by the same thread once every listener has seen the previous event. Listeners added
+ * meanwhile are registered, and replayed the last delivered event, in that same order.
+ */
+@CoreFriendModuleApi
+public class RibLifecycle<T : Comparable<T>> {
+
+  public fun interface Listener<T> {
+    public fun onEvent(event: T)
+  }
+
+  /** The last emitted event, or `null` if none was emitted yet. */
+  @Volatile
+  public var current: T? = null
+    private set
+
+  private var listeners: Array<Listener<T>> = emptyListeners()
+
+  // Guarded by `this`. Events and listener additions waiting to be delivered, in order.
+  private val deliveryQueue = ArrayDeque<Delivery<T>>()
+  private var isDelivering = false
+
+  // Only accessed by the delivering thread.
+  private var lastDelivered: T? = null
+
+  // Scopes handed out by requestScope and jobUntil, ended once their end event is delivered.
+  private val scopes = LifecycleJobs<T>()
+
+  @Volatile private var flow: SharedFlow<T>? = null
+
+  @Volatile private var observable: Observable<T>? = null
+
+  public fun emit(event: T) {
+    synchronized(this) {
+      current = event
+      deliveryQueue.addLast(Delivery(event, null))
+      if (isDelivering) return
+      isDelivering = true
+    }
+    deliver()
+  }
+
+  private class Delivery<T>(val event: T?, val addedListener: Listener<T>?)
+
+  /** Drains [deliveryQueue] on the calling thread, until it is empty. */
+  private fun deliver() {
+    try {
+      while (deliverNext()) {
+        // Keep draining.
+      }
+    } catch (t: Throwable) {
+      // Let the next emission resume draining instead of queueing forever.
+      synchronized(this) { isDelivering = false }
+      throw t
+    }
+  }
+
+  /**
+   * Delivers the next queued item. A throwing listener does not keep the others nor the scopes
+   * ending with the event from seeing it: the first error is rethrown once the event was delivered.
+   *
+   * @return `false` once [deliveryQueue] is empty.
+   */
+  @Suppress("TooGenericExceptionCaught") // Rethrown once the event was delivered.
+  private fun deliverNext(): Boolean {
+    val delivery: Delivery<T>
+    val listeners: Array<Listener<T>>
+    synchronized(this) {
+      val next = deliveryQueue.removeFirstOrNull()
+      if (next == null) {
+        isDelivering = false
+        return false
+      }
+      delivery = next
+      val addedListener = delivery.addedListener
+      if (addedListener != null) {
+        val updated = this.listeners.copyOf(this.listeners.size + 1)
+        updated[this.listeners.size] = addedListener
+        @Suppress("UNCHECKED_CAST")
+        this.listeners = updated as Array<Listener<T>>
+      }
+      listeners = this.listeners
+    }
+    val addedListener = delivery.addedListener
+    if (addedListener != null) {
+      lastDelivered?.let { addedListener.onEvent(it) }
+    } else {
+      val event = delivery.event!!
+      lastDelivered = event
+      var error: Throwable? = null
+      for (listener in listeners) {
+        try {
+          listener.onEvent(event)
+        } catch (t: Throwable) {
+          if (error == null) error = t else error.addSuppressed(t)
+        }
+      }
+      // Ending the scopes regardless, so that the work bound to them cannot leak.
+      scopes.onLifecycleEvent(event)
+      if (error != null) throw error
+    }
+    return true
+  }
+
+  /**
+   * @return a scope that completes once [range]'s end event is delivered. Scopes ending with the
+   *   same event are shared, so subscribing to a scope only registers one observer.
+   * @throws LifecycleNotStartedException if no event in [range] was delivered yet.
+   * @throws LifecycleEndedException if the lifecycle is at or after the end of [range].
+   */
+  public fun requestScope(range: ClosedRange<T>): CompletableSource =
+    scopes.completableUntil(range)
+
+  /**
+   * @return a [Job] cancelled once [range]'s end event is delivered, shared like [requestScope].
+   * @throws LifecycleNotStartedException if no event in [range] was delivered yet.
+   * @throws LifecycleEndedException if the lifecycle is at or after the end of [range].
+   */
+  public fun jobUntil(range: ClosedRange<T>): Job = scopes.jobUntil(range)
+
+  /**
+   * Adds [listener], calling it with the last delivered event if there is one. If events are being
+   * delivered, [listener] is added once the event in delivery has been seen by the other listeners.
+   */
+  public fun addListener(listener: Listener<T>) {
+    synchronized(this) {
+      deliveryQueue.addLast(Delivery(null, listener))
+      if (isDelivering) return
+      isDelivering = true
+    }
+    deliver()
+  }
+
+  public fun removeListener(listener: Listener<T>) {
+    synchronized(this) {
+      deliveryQueue.removeAll { it.addedListener === listener }
+      val index = listeners.indexOf(listener)
+      if (index >= 0) {
+        listeners =
+          if (listeners.size == 1) {
+            emptyListeners()
+          } else {
+            listeners.copyOfRange(0, index) + listeners.copyOfRange(index + 1, listeners.size)
+          }
+      }
+    }
+  }
+
+  /**
+   * @return a [SharedFlow] replaying [current] to new collectors. Like a
+   *   [kotlinx.coroutines.flow.StateFlow], slow collectors only receive the latest event.
+   */
+  public fun asFlow(): SharedFlow<T> = ::flow.setIfNullAndGet { LifecycleSharedFlow(this) }
+
+  /** @return an [Observable] replaying [current] to new subscribers. */
+  public fun asObservable(): Observable<T> =
+    ::observable.setIfNullAndGet {
+      Observable.create { emitter ->
+        val listener = Listener<T> { emitter.onNext(it) }
+        addListener(listener)
+        emitter.setCancellable { removeListener(listener) }
+      }
+    }
+
+  @Suppress("UNCHECKED_CAST")
+  private fun emptyListeners(): Array<Listener<T>> = EMPTY_LISTENERS as Array<Listener<T>>
+
+  private companion object {
+    private val EMPTY_LISTENERS = arrayOf<Listener<Any>>()
+  }
+}
+
+@OptIn(CoreFriendModuleApi::class, ExperimentalForInheritanceCoroutinesApi::class)
+private class LifecycleSharedFlow<T : Comparable<T>>(
+  private val lifecycle: RibLifecycle<T>,
+) : SharedFlow<T> {
+  override val replayCache: List<T>
+    get() = lifecycle.current?.let { listOf(it) } ?: emptyList()
+
+  override suspend fun collect(collector: FlowCollector<T>): Nothing {
+    val events = Channel<T>(Channel.CONFLATED)
+    val listener = RibLifecycle.Listener<T> { events.trySend(it) }
+    lifecycle.addListener(listener)
+    try {
+      while (true) {
+        collector.emit(events.receive())
+      }
+    } finally {
+      lifecycle.removeListener(listener)
+    }
+  }
+}
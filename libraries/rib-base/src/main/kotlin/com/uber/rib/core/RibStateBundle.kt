@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import android.os.Parcelable
+
+/**
+ * A [Bundle] that keeps RIB state in a plain key/value map instead of an [android.os.Bundle].
+ *
+ * Writing into it on the main thread is cheap, and [snapshot] freezes its content, including the
+ * state of nested RIBs, into an immutable [RibStateSnapshot]. The snapshot can then be converted to
+ * an [android.os.Bundle] in a single pass at the activity boundary, and inspected from any thread.
+ */
+public class RibStateBundle : Bundle(Unit) {
+  private val values = LinkedHashMap<String, Any?>()
+  private var snapshot: RibStateSnapshot? = null
+
+  override fun getBoolean(key: String, defaultValue: Boolean): Boolean =
+    values[key] as? Boolean ?: defaultValue
+
+  override fun putBoolean(key: String, value: Boolean) {
+    put(key, value)
+  }
+
+  override fun getBundleExtra(key: String): Bundle? = values[key] as? Bundle
+
+  override fun putBundleExtra(key: String, bundle: Bundle?) {
+    put(key, bundle)
+  }
+
+  override fun getParcelable(key: String): Parcelable? = values[key] as? Parcelable
+
+  override fun putParcelable(key: String, value: Parcelable?) {
+    put(key, value)
+  }
+
+  override fun getString(key: String): String? = values[key] as? String
+
+  override fun putString(key: String, value: String?) {
+    put(key, value)
+  }
+
+  override fun putInt(key: String, value: Int) {
+    put(key, value)
+  }
+
+  override fun getInt(key: String, defaultValue: Int): Int = values[key] as? Int ?: defaultValue
+
+  override fun newBundle(): Bundle = RibStateBundle()
+
+  override fun toAndroidBundle(): android.os.Bundle = snapshot().toAndroidBundle()
+
+  /**
+   * @return an immutable snapshot of the current content. The previous snapshot is returned as long
+   *   as neither this bundle nor any nested [RibStateBundle] changed since, which makes
+   *   snapshotting the unchanged state of a RIB subtree cheap.
+   */
+  public fun snapshot(): RibStateSnapshot {
+    val previous = snapshot
+    if (previous != null && isUpToDate(previous)) {
+      return previous
+    }
+    val keys = arrayOfNulls<String>(values.size)
+    val frozenValues = arrayOfNulls<Any>(values.size)
+    var index = 0
+    for ((key, value) in values) {
+      keys[index] = key
+      frozenValues[index] =
+        when (value) {
+          is RibStateBundle -> value.snapshot()
+          is Bundle -> value.toAndroidBundle()
+          else -> value
+        }
+      index++
+    }
+    @Suppress("UNCHECKED_CAST")
+    return RibStateSnapshot(keys as Array<String>, frozenValues).also { snapshot = it }
+  }
+
+  private fun isUpToDate(previous: RibStateSnapshot): Boolean {
+    // The snapshot is dropped on any put, so its entries are still in the order of [values].
+    var index = 0
+    for (value in values.values) {
+      if (value is RibStateBundle && value.snapshot() !== previous.valueAt(index)) {
+        return false
+      }
+      index++
+    }
+    return true
+  }
+
+  private fun put(key: String, value: Any?) {
+    values[key] = value
+    snapshot = null
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import android.os.Parcel
+import java.io.ByteArrayOutputStream
+import java.util.zip.DeflaterOutputStream
+import java.util.zip.InflaterInputStream
+
+/** Stores RIB state as deflated parcels, see [RibStateBudget.Action.COMPRESS]. */
+internal object RibStateCompression {
+  private const val KEY_COMPRESSED_STATE = "Router.compressedState"
+
+  /**
+   * Marks the state of a router whose child states hold compressed entries, so that others are read
+   * without any overhead. Stored next to, rather than among, the child states keyed by tag.
+   */
+  private const val KEY_HAS_COMPRESSED_CHILDREN = "Router.hasCompressedChildren"
+
+  /** Marks [routerState] as holding child states created by [compress]. */
+  fun markCompressedChildren(routerState: Bundle) {
+    routerState.putBoolean(KEY_HAS_COMPRESSED_CHILDREN, true)
+  }
+
+  /** @return whether [routerState] was marked with [markCompressedChildren]. */
+  fun hasCompressedChildren(routerState: Bundle): Boolean =
+    routerState.getBoolean(KEY_HAS_COMPRESSED_CHILDREN, false)
+
+  /** @return a bundle holding [state] compressed, or `null` if it can't be parcelled. */
+  fun compress(state: android.os.Bundle): android.os.Bundle? {
+    val parcel = Parcel.obtain()
+    val bytes =
+      try {
+        parcel.writeBundle(state)
+        parcel.marshall()
+      } catch (e: RuntimeException) {
+        return null
+      } finally {
+        parcel.recycle()
+      }
+    val output = ByteArrayOutputStream(bytes.size / 2)
+    DeflaterOutputStream(output).use { it.write(bytes) }
+    return android.os.Bundle(1).apply { putByteArray(KEY_COMPRESSED_STATE, output.toByteArray()) }
+  }
+
+  /** @return [state] itself, or its decompressed content if it was created by [compress]. */
+  fun decompressIfNeeded(state: android.os.Bundle): android.os.Bundle {
+    val compressed = state.getByteArray(KEY_COMPRESSED_STATE) ?: return state
+    val bytes = InflaterInputStream(compressed.inputStream()).use { it.readBytes() }
+    val parcel = Parcel.obtain()
+    try {
+      parcel.unmarshall(bytes, 0, bytes.size)
+      parcel.setDataPosition(0)
+      return parcel.readBundle(RibStateCompression::class.java.classLoader) ?: android.os.Bundle()
+    } finally {
+      parcel.recycle()
+    }
+  }
+}
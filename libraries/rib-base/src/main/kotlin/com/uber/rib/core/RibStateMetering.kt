@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import android.os.Parcel
+
+/**
+ * Measures the saved state of each RIB and optionally keeps it within a [RibStateBudget].
+ *
+ * Metering is disabled by default. It is enabled as soon as a [sizeListener] or a [budget] is set.
+ * Each RIB is measured when its router saves state: the state written by its interactor is sized
+ * with [sizer], and the size of its subtree is the sum of the interactor states within it.
+ * Subtrees reused through [Interactor.isIncrementalStateSavingEnabled] keep their previous sizes.
+ */
+public object RibStateMetering {
+
+  /** Notified of the measured state of every saved RIB. */
+  @JvmStatic @Volatile public var sizeListener: RibStateSizeListener? = null
+
+  /** Budget applied to the state of every saved subtree, or `null` to never shed state. */
+  @JvmStatic @Volatile public var budget: RibStateBudget? = null
+
+  /** Sizer used to measure interactor states. Defaults to [ParcelRibStateSizer]. */
+  @JvmStatic @Volatile public var sizer: RibStateSizer = ParcelRibStateSizer
+
+  internal val isEnabled: Boolean
+    get() = sizeListener != null || budget != null
+}
+
+/** Notified of the saved state size of RIBs, see [RibStateMetering]. */
+public interface RibStateSizeListener {
+
+  /**
+   * Called when [router] saved its state. Children are reported before their parents.
+   *
+   * @param router the router that saved its state.
+   * @param interactorStateBytes size of the state written by its interactor.
+   * @param subtreeStateBytes size of the state of the whole subtree, after applying the budget.
+   */
+  public fun onRibStateMeasured(
+    router: Router<*>,
+    interactorStateBytes: Int,
+    subtreeStateBytes: Int,
+  )
+
+  /**
+   * Called when the state of the subtree of [router] was compressed or dropped by a
+   * [RibStateBudget].
+   *
+   * @param router the child router whose state was shed.
+   * @param stateBytes size of its subtree state before shedding.
+   * @param shedStateBytes size of its subtree state after shedding, `0` when dropped.
+   */
+  public fun onRibStateShed(router: Router<*>, stateBytes: Int, shedStateBytes: Int) {}
+}
+
+/** Measures the size of a saved [Bundle]. */
+public fun interface RibStateSizer {
+  public fun sizeBytes(state: Bundle): Int
+}
+
+/**
+ * Measures the parcelled size of a [Bundle]. States held by a [RibStateBundle] are measured from
+ * their [RibStateSnapshot] instead, which follows the same parcel layout but only parcels
+ * [android.os.Parcelable] values.
+ */
+public object ParcelRibStateSizer : RibStateSizer {
+  override fun sizeBytes(state: Bundle): Int {
+    if (state is RibStateBundle) {
+      return state.snapshot().sizeBytes
+    }
+    val parcel = Parcel.obtain()
+    try {
+      parcel.writeBundle(state.toAndroidBundle())
+      return parcel.dataSize()
+    } finally {
+      parcel.recycle()
+    }
+  }
+}
+
+/**
+ * Maximum state size of a RIB subtree.
+ *
+ * When the state of a subtree exceeds [maxSubtreeBytes], the subtrees of its children whose
+ * interactor does not consider its state critical, see [Interactor.isInstanceStateCritical], are
+ * shed largest first until the subtree fits, or no such child is left.
+ *
+ * @property maxSubtreeBytes maximum state size of any subtree, including the root.
+ * @property action what to do with the state of non-critical subtrees.
+ */
+public class RibStateBudget(
+  public val maxSubtreeBytes: Int,
+  public val action: Action = Action.DROP,
+) {
+  init {
+    require(maxSubtreeBytes > 0) { "maxSubtreeBytes must be positive, was $maxSubtreeBytes" }
+  }
+
+  /** How the state of a non-critical subtree is shed. */
+  public enum class Action {
+    /** The subtree state is dropped, and the subtree restores without saved state. */
+    DROP,
+
+    /**
+     * The subtree state is stored compressed, and transparently decompressed when restored. It is
+     * dropped instead when it can't be compressed, e.g. because it holds file descriptors. Only
+     * bundles holding compressed states pay for checking them on restore.
+     */
+    COMPRESS,
+  }
+
+  /** @return the subtree size after shedding children of [childStates], in [routerState]. */
+  internal fun shed(
+    routerState: Bundle,
+    childStates: Bundle,
+    childRouters: List<Router<*>>,
+    subtreeBytes: Int,
+    sizer: RibStateSizer,
+    listener: RibStateSizeListener?,
+  ): Int {
+    var remainingBytes = subtreeBytes
+    val candidates =
+      childRouters
+        .filter { !it.isInstanceStateCritical() }
+        .sortedByDescending { it.savedSubtreeStateBytes }
+    for (child in candidates) {
+      if (remainingBytes <= maxSubtreeBytes) {
+        break
+      }
+      val tag = child.tag ?: continue
+      val stateBytes = child.savedSubtreeStateBytes
+      val childState = if (action == Action.COMPRESS) childStates.getBundleExtra(tag) else null
+      val compressed = childState?.let { RibStateCompression.compress(it.toAndroidBundle()) }
+      val shedBytes =
+        if (compressed != null) {
+          val compressedState = Bundle(compressed)
+          childStates.putBundleExtra(tag, compressedState)
+          RibStateCompression.markCompressedChildren(routerState)
+          sizer.sizeBytes(compressedState)
+        } else {
+          childStates.putBundleExtra(tag, null)
+          0
+        }
+      remainingBytes -= stateBytes - shedBytes
+      listener?.onRibStateShed(child, stateBytes, shedBytes)
+    }
+    return remainingBytes
+  }
+}
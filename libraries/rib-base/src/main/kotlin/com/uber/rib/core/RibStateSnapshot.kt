@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import android.os.Parcel
+import android.os.Parcelable
+
+/**
+ * Immutable RIB state captured by [RibStateBundle.snapshot].
+ *
+ * Values are booleans, ints, strings, [Parcelable]s, nested [RibStateSnapshot]s, or `null`. Sizes
+ * follow the layout [Parcel] uses for the same values. Booleans, ints and strings are sized without
+ * parcelling anything, while [Parcelable] values, including nested [android.os.Bundle]s, are
+ * written to a [Parcel] to measure them. Sizes are computed when first read.
+ */
+public class RibStateSnapshot
+internal constructor(
+  private val keys: Array<String>,
+  private val values: Array<Any?>,
+) {
+  private val sizes: Sizes by lazy { measure() }
+
+  /** Parcelled size of the entries of this snapshot, excluding nested snapshots. */
+  public val ownSizeBytes: Int
+    get() = sizes.own
+
+  /** Parcelled size of this snapshot, including nested snapshots. */
+  public val sizeBytes: Int
+    get() = sizes.total
+
+  /**
+   * Whether a [Parcelable] value in this snapshot or a nested one could not be parcelled, e.g.
+   * because it holds file descriptors. Only its class name is counted then, and [sizeBytes] is a
+   * lower bound.
+   */
+  public val hasUnmeasuredValues: Boolean
+    get() = sizes.hasUnmeasuredValues
+
+  private class Sizes(val own: Int, val total: Int, val hasUnmeasuredValues: Boolean)
+
+  private fun measure(): Sizes {
+    var own = BUNDLE_HEADER_BYTES
+    var nested = 0
+    var hasUnmeasuredValues = false
+    for (index in keys.indices) {
+      own += stringSizeBytes(keys[index]) + VALUE_TYPE_BYTES
+      when (val value = values[index]) {
+        is RibStateSnapshot -> {
+          nested += value.sizeBytes
+          hasUnmeasuredValues = hasUnmeasuredValues || value.hasUnmeasuredValues
+        }
+        is Boolean,
+        is Int -> own += INT_BYTES
+        is String -> own += stringSizeBytes(value)
+        is Parcelable -> {
+          val parcelledBytes = parcelledSizeBytes(value)
+          if (parcelledBytes < 0) {
+            hasUnmeasuredValues = true
+            own += stringSizeBytes(value.javaClass.name)
+          } else {
+            own += parcelledBytes
+          }
+        }
+      }
+    }
+    return Sizes(own, own + nested, hasUnmeasuredValues)
+  }
+
+  /** Number of entries. */
+  public val size: Int
+    get() = keys.size
+
+  /** @return the keys of this snapshot, in insertion order. */
+  public fun keys(): List<String> = keys.asList()
+
+  /** @return the value for [key], or `null`. */
+  public operator fun get(key: String): Any? {
+    val index = keys.indexOf(key)
+    return if (index >= 0) values[index] else null
+  }
+
+  /** @return the value of the entry at [index], in insertion order. */
+  internal fun valueAt(index: Int): Any? = values[index]
+
+  /** @return the nested snapshot for [key], or `null`. */
+  public fun getSnapshot(key: String): RibStateSnapshot? = get(key) as? RibStateSnapshot
+
+  /**
+   * @return [sizeBytes] of every RIB in this snapshot, keyed by the path of router tags leading to
+   *   it. The RIB this snapshot was saved from is keyed by an empty path.
+   */
+  public fun subtreeSizes(): Map<String, Int> {
+    val sizes = LinkedHashMap<String, Int>()
+    collectSubtreeSizes("", sizes)
+    return sizes
+  }
+
+  private fun collectSubtreeSizes(path: String, sizes: MutableMap<String, Int>) {
+    sizes[path] = sizeBytes
+    val children = getSnapshot(Router.KEY_CHILD_ROUTERS) ?: return
+    for (index in children.keys.indices) {
+      val child = children.values[index] as? RibStateSnapshot ?: continue
+      val tag = children.keys[index]
+      child.collectSubtreeSizes(if (path.isEmpty()) tag else "$path/$tag", sizes)
+    }
+  }
+
+  /** Writes all entries to [outState], converting nested snapshots to nested bundles. */
+  public fun writeTo(outState: android.os.Bundle) {
+    for (index in keys.indices) {
+      val key = keys[index]
+      when (val value = values[index]) {
+        is RibStateSnapshot -> outState.putParcelable(key, value.toAndroidBundle())
+        is Boolean -> outState.putBoolean(key, value)
+        is Int -> outState.putInt(key, value)
+        is String -> outState.putString(key, value)
+        else -> outState.putParcelable(key, value as Parcelable?)
+      }
+    }
+  }
+
+  /** @return a new [android.os.Bundle] holding all entries. */
+  public fun toAndroidBundle(): android.os.Bundle = android.os.Bundle(size).also { writeTo(it) }
+
+  private companion object {
+    private const val INT_BYTES = 4
+    private const val VALUE_TYPE_BYTES = INT_BYTES
+
+    // Length, magic and entry count.
+    private const val BUNDLE_HEADER_BYTES = 3 * INT_BYTES
+
+    // Length prefix, then UTF-16 chars and a null terminator padded to 4 bytes.
+    private fun stringSizeBytes(value: String): Int =
+      INT_BYTES + ((value.length + 1) * 2 + 3 and 3.inv())
+
+    /** @return the size [value] takes in a parcelled bundle, without its type, or `-1`. */
+    private fun parcelledSizeBytes(value: Parcelable): Int {
+      val parcel =
+        try {
+          Parcel.obtain()
+        } catch (e: RuntimeException) {
+          return -1
+        }
+      return try {
+        parcel.writeValue(value)
+        parcel.dataSize() - VALUE_TYPE_BYTES
+      } catch (e: RuntimeException) {
+        -1
+      } finally {
+        parcel.recycle()
+      }
+    }
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+/**
+ * Times `onStart` and `onStop` of [Worker]s and [RibCoroutineWorker]s, and reports the calls taking
+ * longer than the configured thresholds through [Rib.Configuration.handleNonFatalWarning].
+ *
+ * While a blocking call runs past its threshold, the stack of the thread running it is sampled and
+ * attached to the report as a [SlowWorkerCallException]. The suspending
+ * [RibCoroutineWorker.onStart] is only timed, since its thread is free to run other work while it
+ * is suspended. The thresholds must be positive.
+ */
+public object RibWorkerWatchdog {
+  /** Whether worker calls are timed. Defaults to `false`. */
+  @JvmStatic @Volatile public var isEnabled: Boolean = false
+
+  /** Duration above which `onStart` is reported. */
+  @JvmStatic
+  @Volatile
+  public var onStartThresholdMillis: Long = 100L
+    set(value) {
+      field = requirePositive(value)
+    }
+
+  /** Duration above which `onStop` is reported, see [RibCoroutineWorker.onStop]. */
+  @JvmStatic
+  @Volatile
+  public var onStopThresholdMillis: Long = 16L
+    set(value) {
+      field = requirePositive(value)
+    }
+
+  /** Duration above which a blocking call on the main thread is reported, if lower than above. */
+  @JvmStatic
+  @Volatile
+  public var mainThreadThresholdMillis: Long = 16L
+    set(value) {
+      field = requirePositive(value)
+    }
+
+  /** Maximum number of stack samples taken per call. */
+  @JvmStatic @Volatile public var maxStackSamples: Int = 3
+
+  private val mainThread by lazy { Router.getMainThread() }
+
+  private val sampler: ScheduledExecutorService by lazy {
+    Executors.newSingleThreadScheduledExecutor { runnable ->
+      Thread(runnable, "RibWorkerWatchdog").apply { isDaemon = true }
+    }
+  }
+
+  private fun requirePositive(thresholdMillis: Long): Long {
+    // The stack sampler is scheduled at this rate, which must be positive.
+    require(thresholdMillis > 0L) { "Expected a positive threshold, but got $thresholdMillis" }
+    return thresholdMillis
+  }
+
+  internal inline fun <T> watch(
+    worker: Any,
+    ribEventType: RibEventType,
+    isBlocking: Boolean,
+    call: () -> T,
+  ): T {
+    if (!isEnabled) return call()
+    val watchedCall = WatchedCall(worker, ribEventType, isBlocking)
+    try {
+      return call()
+    } finally {
+      watchedCall.finish()?.let {
+        Rib.getConfiguration().handleNonFatalWarning(it.message.orEmpty(), it)
+      }
+    }
+  }
+
+  internal class WatchedCall(
+    private val worker: Any,
+    private val ribEventType: RibEventType,
+    isBlocking: Boolean,
+  ) {
+    private val thread = Thread.currentThread()
+    private val isMainThread = thread === mainThread
+    private val thresholdMillis =
+      (if (ribEventType == RibEventType.ATTACHED) onStartThresholdMillis else onStopThresholdMillis)
+        .let { if (isBlocking && isMainThread) minOf(it, mainThreadThresholdMillis) else it }
+    private val samples = ArrayList<Array<StackTraceElement>>()
+    private val startNanos = System.nanoTime()
+    private val sampling: ScheduledFuture<*>? =
+      if (isBlocking && maxStackSamples > 0) {
+        sampler.scheduleAtFixedRate(
+          ::sampleStack,
+          thresholdMillis,
+          thresholdMillis,
+          TimeUnit.MILLISECONDS,
+        )
+      } else {
+        null
+      }
+
+    private fun sampleStack() {
+      synchronized(samples) {
+        if (samples.size < maxStackSamples) samples.add(thread.stackTrace)
+      }
+    }
+
+    /** Stops timing, and returns the exception to report if the call was too slow. */
+    fun finish(): SlowWorkerCallException? {
+      sampling?.cancel(false)
+      val durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos)
+      if (durationMillis <= thresholdMillis) return null
+      val callName = RibActionEmitterType.DEPRECATED_WORKER.ribActionName(ribEventType)
+      val message =
+        "${worker.javaClass.name}.$callName took ${durationMillis}ms on thread " +
+          "'${thread.name}' (threshold ${thresholdMillis}ms)"
+      val stackSamples = synchronized(samples) { samples.toList() }
+      return SlowWorkerCallException(message).apply {
+        stackSamples.firstOrNull()?.let { stackTrace = it }
+        stackSamples.drop(1).forEach { sample ->
+          addSuppressed(SlowWorkerCallException("Later stack sample").apply { stackTrace = sample })
+        }
+      }
+    }
+  }
+}
+
+/**
+ * Reported by [RibWorkerWatchdog] for a slow worker call. Its stack trace is the first stack
+ * sample of the blocked thread, further samples are suppressed exceptions.
+ */
+public class SlowWorkerCallException internal constructor(message: String) :
+  RuntimeException(message)
@@ -22,7 +22,6 @@ import androidx.annotation.VisibleForTesting
 import com.uber.rib.core.RibEvents.triggerRibActionAndEmitEvents
 import com.uber.rib.core.internal.CoreFriendModuleApi
 import java.util.Locale
-import java.util.concurrent.CopyOnWriteArrayList
 
 /**
  * Responsible for handling the addition and removal of children routers.
@@ -36,7 +35,7 @@ protected constructor(
   private val ribRefWatcher: RibRefWatcher,
   private val mainThread: Thread,
 ) : RibActionEmitter {
-  private val children: MutableList<Router<*>> = CopyOnWriteArrayList()
+  private val children = RouterChildren()
   private val interactorGeneric: Interactor<*, *>
     get() = interactor as Interactor<*, *>
 
@@ -47,6 +46,26 @@ protected constructor(
   private var savedInstanceState: Bundle? = null
   private var isLoaded = false
 
+  // Incremental state saving, see [Interactor.isIncrementalStateSavingEnabled].
+  private var capturedInstanceState: Bundle? = null
+  private var haveChildrenChanged = false
+  private var cleanCheckPass = -1
+  private var isCleanInCheckPass = false
+
+  /**
+   * Dispatchers shared by the subtree rooted at this router. Falls back to the ones of the router
+   * this router was attached to. Routers attached below this one inherit it, so it should be set
+   * before attaching children.
+   */
+  public var subtreeDispatchers: RibSubtreeDispatchers? = null
+    get() = field ?: inheritedSubtreeDispatchers
+
+  private var inheritedSubtreeDispatchers: RibSubtreeDispatchers? = null
+
+  /** Size of the last saved state of this subtree, see [RibStateMetering]. */
+  internal var savedSubtreeStateBytes = 0
+    private set
+
   protected constructor(
     interactor: I,
     component: InteractorBaseComponent<*>?,
@@ -105,18 +124,8 @@ protected constructor(
   @OptIn(CoreFriendModuleApi::class)
   @MainThread
   public open fun attachChild(childRouter: Router<*>, tag: String) {
-    for (child in children) {
-      if (tag == child.tag) {
-        Rib.getConfiguration()
-          .handleNonFatalWarning(
-            String.format(
-              Locale.getDefault(),
-              "There is already a child router with tag: %s",
-              tag,
-            ),
-            null,
-          )
-      }
+    if (children.containsTag(tag)) {
+      warnDuplicateTag(tag)
     }
 
     triggerRibActionAndEmitEvents(
@@ -124,8 +133,9 @@ protected constructor(
       RibActionEmitterType.ROUTER,
       RibEventType.ATTACHED,
     ) {
-      children.add(childRouter)
+      children.add(childRouter, tag)
     }
+    haveChildrenChanged = true
 
     ribRefWatcher.logBreadcrumb(
       "ATTACHED",
@@ -133,14 +143,138 @@ protected constructor(
       this.javaClass.simpleName,
     )
     RibEvents.emitRouterEvent(RibEventType.ATTACHED, childRouter, this)
-    var childBundle: Bundle? = null
-    if (savedInstanceState != null) {
-      val previousChildren = savedInstanceState?.getBundleExtra(KEY_CHILD_ROUTERS)
-      childBundle = previousChildren?.getBundleExtra(tag)
-    }
+    val childBundle = previousChildState(savedInstanceState?.getBundleExtra(KEY_CHILD_ROUTERS), tag)
+    childRouter.inheritedSubtreeDispatchers = subtreeDispatchers
     childRouter.dispatchAttach(childBundle, tag)
   }
 
+  /**
+   * Attaches a router built by [prebuildRouter] to this router. If it is not built yet, this
+   * suspends until the background build completed instead of blocking the main thread, and is
+   * cancelled with the calling coroutine. See [PrebuiltRouter].
+   *
+   * @param prebuiltRouter the router to attach. It can only be attached once.
+   * @param tag an identifier to namespace saved instance state [Bundle] objects.
+   * @return the attached router.
+   */
+  @MainThread
+  public suspend fun <R : Router<*>> attachChild(
+    prebuiltRouter: PrebuiltRouter<R>,
+    tag: String,
+  ): R {
+    val childRouter = prebuiltRouter.consume()
+    attachChild(childRouter, tag)
+    return childRouter
+  }
+
+  /**
+   * Attaches several child routers to this router in one transaction.
+   *
+   * Tags are validated against existing children and each other up front, and all children are
+   * added to [getChildren] in a single step, within the ROUTER rib actions of every child. Router
+   * events and breadcrumbs are emitted once for the whole batch, then each child is attached in
+   * order, as with [attachChild]. A child detached while an earlier sibling attaches, e.g. from its
+   * interactor's `didBecomeActive`, is not attached anymore.
+   *
+   * If attaching a child throws, the batch is rolled back before the exception propagates: the
+   * failing child and the children attached before it are detached in reverse order, and the
+   * children after it are removed without having been attached.
+   *
+   * @param childRouters the [Router]s to be attached, paired with their tags. See
+   *   [attachChild].
+   */
+  @OptIn(CoreFriendModuleApi::class)
+  @MainThread
+  public open fun attachChildren(childRouters: List<Pair<Router<*>, String>>) {
+    if (childRouters.isEmpty()) {
+      return
+    }
+    val batchTags = HashSet<String>(childRouters.size)
+    for ((_, tag) in childRouters) {
+      if (!batchTags.add(tag) || children.containsTag(tag)) {
+        warnDuplicateTag(tag)
+      }
+    }
+
+    var newChildren: Set<Router<*>> = emptySet()
+    triggerAttachActions(childRouters, 0) { newChildren = children.addAll(childRouters) }
+    haveChildrenChanged = true
+    val batch = childRouters.filter { it.first in newChildren }
+    logBatchBreadcrumb("ATTACHED", batch)
+    RibEvents.emitRouterEvents(RibEventType.ATTACHED, batch.map { it.first }, this)
+
+    val previousChildren = savedInstanceState?.getBundleExtra(KEY_CHILD_ROUTERS)
+    for ((index, childWithTag) in batch.withIndex()) {
+      val (childRouter, tag) = childWithTag
+      if (!children.contains(childRouter)) {
+        continue
+      }
+      try {
+        childRouter.inheritedSubtreeDispatchers = subtreeDispatchers
+        childRouter.dispatchAttach(previousChildState(previousChildren, tag), tag)
+      } catch (e: Throwable) {
+        rollBackAttach(batch, index, e)
+        throw e
+      }
+    }
+  }
+
+  /** Runs [insert] within the ROUTER/ATTACHED rib actions of [childRouters] from [index] on. */
+  private fun triggerAttachActions(
+    childRouters: List<Pair<Router<*>, String>>,
+    index: Int,
+    insert: () -> Unit,
+  ) {
+    if (index == childRouters.size) {
+      insert()
+      return
+    }
+    triggerRibActionAndEmitEvents(
+      childRouters[index].first,
+      RibActionEmitterType.ROUTER,
+      RibEventType.ATTACHED,
+    ) {
+      triggerAttachActions(childRouters, index + 1, insert)
+    }
+  }
+
+  /**
+   * Undoes [attachChildren] once attaching `batch[failedIndex]` threw [error]: detaches it and the
+   * children attached before it in reverse order, then removes the ones after it. Errors thrown
+   * while detaching are added to [error] as suppressed.
+   */
+  @Suppress("TooGenericExceptionCaught") // Suppressed into the error being propagated.
+  private fun rollBackAttach(
+    batch: List<Pair<Router<*>, String>>,
+    failedIndex: Int,
+    error: Throwable,
+  ) {
+    val unattached = batch.subList(failedIndex + 1, batch.size).filter { children.remove(it.first) }
+    if (unattached.isNotEmpty()) {
+      haveChildrenChanged = true
+      logBatchBreadcrumb("DETACHED", unattached)
+      RibEvents.emitRouterEvents(RibEventType.DETACHED, unattached.map { it.first }, this)
+    }
+    for (index in failedIndex downTo 0) {
+      val childRouter = batch[index].first
+      if (!children.contains(childRouter)) continue
+      try {
+        detachChild(childRouter)
+      } catch (t: Throwable) {
+        error.addSuppressed(t)
+      }
+    }
+  }
+
+  private fun logBatchBreadcrumb(eventType: String, batch: List<Pair<Router<*>, String>>) {
+    if (batch.isEmpty()) return
+    ribRefWatcher.logBreadcrumb(
+      eventType,
+      batch.joinToString(",") { it.first.javaClass.simpleName },
+      this.javaClass.simpleName,
+    )
+  }
+
   /**
    * Detaches the {@param childFactory} from the current [Interactor]. NOTE: No consumers of this
    * API should ever keep a reference to the detached child router, leak canary will enforce that it
@@ -154,6 +288,7 @@ protected constructor(
   @MainThread
   public open fun detachChild(childRouter: Router<*>) {
     val isChildRemoved = children.remove(childRouter)
+    haveChildrenChanged = true
     val interactor = childRouter.interactor
     ribRefWatcher.watchDeletedObject(interactor)
     ribRefWatcher.logBreadcrumb(
@@ -179,6 +314,7 @@ protected constructor(
     ) {
       childRouter.dispatchDetach()
     }
+    childRouter.inheritedSubtreeDispatchers = null
 
     if (isChildRemoved) {
       RibEvents.emitRouterEvent(RibEventType.DETACHED, childRouter, this)
@@ -214,7 +350,7 @@ protected constructor(
 
     interactorGeneric.dispatchDetach()
     willDetach()
-    for (child in children) {
+    for (child in children.snapshot()) {
       detachChild(child)
     }
   }
@@ -222,30 +358,137 @@ protected constructor(
   /**
    * Gets the children of this [Router].
    *
-   * @return Children.
+   * @return a read-only snapshot of the children, in attach order.
    */
   @CoreFriendModuleApi
   public open fun getChildren(): List<Router<*>> {
-    return children
+    return children.snapshot()
+  }
+
+  /**
+   * Gets the child of this [Router] attached with [tag].
+   *
+   * @return the most recently attached child with [tag], or null.
+   */
+  @CoreFriendModuleApi
+  public open fun getChild(tag: String): Router<*>? {
+    return children.findByTag(tag)
   }
 
   @CoreFriendModuleApi
   public fun saveInstanceStateInternal(outState: Bundle) {
+    currentSavePass++
     saveInstanceState(outState)
   }
 
   @OptIn(CoreFriendModuleApi::class)
   protected open fun saveInstanceState(outState: Bundle) {
-    val interactorSavedInstanceState = Bundle()
+    val interactorSavedInstanceState = outState.newBundle()
     interactorGeneric.onSaveInstanceStateInternal(interactorSavedInstanceState)
     outState.putBundleExtra(KEY_INTERACTOR, interactorSavedInstanceState)
-    val childBundles = Bundle()
-    for (child in children) {
-      val childBundle = Bundle()
-      child.saveInstanceState(childBundle)
-      childBundles.putBundleExtra(child.tag!!, childBundle)
+    val childBundles = outState.newBundle()
+    val childRouters = children.snapshot()
+    for (child in childRouters) {
+      childBundles.putBundleExtra(child.tag!!, child.captureInstanceState(childBundles))
     }
     outState.putBundleExtra(KEY_CHILD_ROUTERS, childBundles)
+    haveChildrenChanged = false
+    if (RibStateMetering.isEnabled) {
+      meterInstanceState(outState, interactorSavedInstanceState, childBundles, childRouters)
+    }
+  }
+
+  /**
+   * @return the saved state of the child with [tag] in [previousChildren], decompressed if it was
+   *   compressed by a [RibStateBudget]. Only checked while a budget is installed.
+   */
+  private fun previousChildState(previousChildren: Bundle?, tag: String): Bundle? {
+    val childState = previousChildren?.getBundleExtra(tag) ?: return null
+    val state = savedInstanceState
+    return if (
+      RibStateMetering.budget != null &&
+        state != null &&
+        RibStateCompression.hasCompressedChildren(state)
+    ) {
+      Bundle(RibStateCompression.decompressIfNeeded(childState.toAndroidBundle()))
+    } else {
+      childState
+    }
+  }
+
+  private fun meterInstanceState(
+    routerState: Bundle,
+    interactorState: Bundle,
+    childStates: Bundle,
+    childRouters: List<Router<*>>,
+  ) {
+    val sizer = RibStateMetering.sizer
+    val listener = RibStateMetering.sizeListener
+    val interactorBytes = sizer.sizeBytes(interactorState)
+    var subtreeBytes = interactorBytes
+    for (child in childRouters) {
+      subtreeBytes += child.savedSubtreeStateBytes
+    }
+    val budget = RibStateMetering.budget
+    if (budget != null && subtreeBytes > budget.maxSubtreeBytes) {
+      subtreeBytes =
+        budget.shed(routerState, childStates, childRouters, subtreeBytes, sizer, listener)
+    }
+    savedSubtreeStateBytes = subtreeBytes
+    listener?.onRibStateMeasured(this, interactorBytes, subtreeBytes)
+  }
+
+  internal fun isInstanceStateCritical(): Boolean =
+    interactorGeneric.isInstanceStateCriticalInternal()
+
+  /**
+   * @return the state of this subtree, reusing the previously captured [Bundle] when neither this
+   *   router's interactor nor any descendant changed since.
+   */
+  private fun captureInstanceState(parentState: Bundle): Bundle {
+    val captured = capturedInstanceState
+    if (captured != null && captured.javaClass === parentState.javaClass && isSubtreeClean()) {
+      return captured
+    }
+    val outState = parentState.newBundle()
+    saveInstanceState(outState)
+    capturedInstanceState =
+      if (interactorGeneric.isIncrementalStateSavingEnabledInternal()) outState else null
+    return outState
+  }
+
+  // Memoized per save pass, so that each router is checked once per save.
+  private fun isSubtreeClean(): Boolean {
+    if (cleanCheckPass == currentSavePass) {
+      return isCleanInCheckPass
+    }
+    var isClean =
+      capturedInstanceState != null &&
+        !haveChildrenChanged &&
+        interactorGeneric.isInstanceStateClean()
+    if (isClean) {
+      for (child in children.snapshot()) {
+        if (!child.isSubtreeClean()) {
+          isClean = false
+          break
+        }
+      }
+    }
+    cleanCheckPass = currentSavePass
+    isCleanInCheckPass = isClean
+    return isClean
+  }
+
+  private fun warnDuplicateTag(tag: String) {
+    Rib.getConfiguration()
+      .handleNonFatalWarning(
+        String.format(
+          Locale.getDefault(),
+          "There is already a child router with tag: %s",
+          tag,
+        ),
+        null,
+      )
   }
 
   private fun checkForMainThread() {
@@ -257,6 +500,9 @@ protected constructor(
   }
 
   public companion object {
+    // Only read and written on the main thread.
+    private var currentSavePass = 0
+
     @VisibleForTesting public val KEY_CHILD_ROUTERS: String = "Router.childRouters"
 
     @JvmField @VisibleForTesting public val KEY_INTERACTOR: String = "Router.interactor"
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import java.util.Collections
+import java.util.IdentityHashMap
+
+/**
+ * Child registry of a [Router].
+ *
+ * Keeps children in attach order with amortized O(1) add and remove, and indexes them by tag for
+ * O(1) lookup. Iteration goes through [snapshot], an immutable copy that is only rebuilt after the
+ * registry changed, so a child detaching its siblings while the parent iterates is safe.
+ *
+ * Mutations are expected on the main thread, but reads are safe from any thread.
+ */
+internal class RouterChildren {
+  // Guarded by `this`. Routers use identity equality, so this is an ordered identity set.
+  private val children = LinkedHashMap<Router<*>, String>()
+  private val childrenByTag = HashMap<String, Router<*>>()
+  private var duplicateTagCount = 0
+
+  @Volatile private var snapshot: List<Router<*>>? = EMPTY
+
+  /** @return an immutable list of the children, in attach order. */
+  fun snapshot(): List<Router<*>> =
+    snapshot
+      ?: synchronized(this) {
+        snapshot ?: Snapshot(children.keys.toTypedArray()).also { snapshot = it }
+      }
+
+  fun containsTag(tag: String): Boolean = synchronized(this) { childrenByTag.containsKey(tag) }
+
+  /** @return the most recently added child with [tag], or null. */
+  fun findByTag(tag: String): Router<*>? = synchronized(this) { childrenByTag[tag] }
+
+  fun add(child: Router<*>, tag: String) {
+    synchronized(this) { addLocked(child, tag) }
+  }
+
+  /** @return the children that were not in the registry yet. */
+  fun addAll(childrenWithTags: List<Pair<Router<*>, String>>): Set<Router<*>> =
+    synchronized(this) {
+      val added = Collections.newSetFromMap(IdentityHashMap<Router<*>, Boolean>())
+      for ((child, tag) in childrenWithTags) {
+        if (addLocked(child, tag)) {
+          added.add(child)
+        }
+      }
+      added
+    }
+
+  fun contains(child: Router<*>): Boolean = synchronized(this) { children.containsKey(child) }
+
+  /** @return `true` if [child] was in the registry. */
+  fun remove(child: Router<*>): Boolean =
+    synchronized(this) {
+      val tag = children.remove(child) ?: return false
+      snapshot = null
+      if (childrenByTag[tag] === child) {
+        childrenByTag.remove(tag)
+        if (duplicateTagCount > 0) {
+          reindexTag(tag)
+        }
+      } else {
+        duplicateTagCount--
+      }
+      true
+    }
+
+  private fun addLocked(child: Router<*>, tag: String): Boolean {
+    if (children.containsKey(child)) {
+      return false
+    }
+    children[child] = tag
+    snapshot = null
+    if (childrenByTag.put(tag, child) != null) {
+      duplicateTagCount++
+    }
+    return true
+  }
+
+  // Only reached when the same tag was attached more than once, which is already warned about.
+  private fun reindexTag(tag: String) {
+    var latest: Router<*>? = null
+    for ((child, childTag) in children) {
+      if (childTag == tag) {
+        latest = child
+      }
+    }
+    if (latest != null) {
+      childrenByTag[tag] = latest
+      duplicateTagCount--
+    }
+  }
+
+  private class Snapshot(private val array: Array<Router<*>>) : AbstractList<Router<*>>() {
+    override val size: Int
+      get() = array.size
+
+    override fun get(index: Int): Router<*> = array[index]
+  }
+
+  private companion object {
+    private val EMPTY: List<Router<*>> = Snapshot(emptyArray())
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.EmptyCoroutineContext
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.job
+import kotlinx.coroutines.launch
+
+/**
+ * A [RibCoroutineWorker] that runs [worker] once, however many scopes it is bound to.
+ *
+ * [worker] is started when this worker is bound for the first time, and keeps running while it is
+ * bound to at least one scope. Once the last binding is gone, [worker] is stopped after
+ * [gracePeriodMillis], unless it gets bound again in the meantime.
+ *
+ * [worker] runs in a scope with the context of the binding that started it, e.g. its
+ * [RibCoroutineOwner] and [RibSubtreeDispatchers], but with its own [Job] so that it can outlive
+ * that binding.
+ *
+ * Each [BindWorkerHandle] behaves as for any other worker: it completes once [worker] has started,
+ * and unbinding it only stops [worker] if it was the last binding. If [worker] fails to start, the
+ * next binding starts it again.
+ *
+ * @param worker the worker to share.
+ * @param gracePeriodMillis how long [worker] keeps running after its last binding is gone.
+ * @param context the context [worker] is started in. See [bind].
+ */
+public class SharedRibCoroutineWorker
+@JvmOverloads
+constructor(
+  private val worker: RibCoroutineWorker,
+  private val gracePeriodMillis: Long = 0L,
+  private val context: CoroutineContext = RibDispatchers.Default,
+) : RibCoroutineWorker {
+  private var key: Any? = null
+  private var bindingCount = 0
+  private var sharedScope: CoroutineScope? = null
+  private var sharedHandle: CompletableDeferred<BindWorkerHandle>? = null
+  private var pendingStop: Job? = null
+
+  /** The number of scopes this worker is currently bound to. */
+  public val activeBindingCount: Int
+    get() = synchronized(this) { bindingCount }
+
+  /** Whether [worker] is currently started, including during the grace period. */
+  public val isRunning: Boolean
+    get() = synchronized(this) { sharedHandle != null }
+
+  override suspend fun onStart(scope: CoroutineScope) {
+    var scopeToStart: CoroutineScope? = null
+    val handle: CompletableDeferred<BindWorkerHandle>
+    val sharedJob: Job
+    synchronized(this) {
+      bindingCount++
+      pendingStop?.cancel()
+      pendingStop = null
+      val running = sharedHandle
+      if (running != null) {
+        handle = running
+        sharedJob = sharedScope!!.coroutineContext.job
+      } else {
+        val newScope = newSharedScope(scope)
+        handle = CompletableDeferred()
+        sharedScope = newScope
+        sharedHandle = handle
+        sharedJob = newScope.coroutineContext.job
+        scopeToStart = newScope
+      }
+    }
+    // Binds outside of the lock, as an immediate dispatcher runs the worker's onStart right away.
+    scopeToStart?.let { startSharedWorker(it, handle) }
+    // Counts the shared worker in the scope of every binding, as long as that binding lasts.
+    val account = scope.coroutineContext[RibCoroutineOwner]?.account
+    if (account != null) {
+      val attribution = account.attribute(sharedJob)
+      scope.coroutineContext.job.invokeOnCompletion { attribution.dispose() }
+    }
+    handle.await().join()
+  }
+
+  override fun onStop(cause: Throwable) {
+    val scopeToStop =
+      synchronized(this) {
+        if (--bindingCount > 0) return
+        val scope = sharedScope
+        if (gracePeriodMillis > 0L && scope != null) {
+          pendingStop =
+            scope.launch {
+              delay(gracePeriodMillis)
+              stopIfUnbound()
+            }
+          return
+        }
+        clearSharedState()
+      }
+    scopeToStop?.let(::stopSharedWorker)
+  }
+
+  private fun newSharedScope(bindingScope: CoroutineScope): CoroutineScope =
+    CoroutineScope(
+      (RibCoroutinesConfig.exceptionHandler ?: EmptyCoroutineContext) +
+        bindingScope.coroutineContext.minusKey(Job) +
+        SupervisorJob(),
+    )
+
+  private fun startSharedWorker(
+    scope: CoroutineScope,
+    handle: CompletableDeferred<BindWorkerHandle>,
+  ) {
+    // Registered again when restarted after a stop, so that forKey keeps returning this instance.
+    key?.let { key ->
+      synchronized(sharedWorkers) { if (sharedWorkers[key] == null) sharedWorkers[key] = this }
+    }
+    val bindHandle = scope.bind(worker, context)
+    handle.complete(bindHandle)
+    bindHandle.invokeOnCompletion { cause ->
+      if (cause == null) return@invokeOnCompletion
+      // Failed or cancelled before starting: don't let later bindings join a dead worker.
+      val failed =
+        synchronized(this) {
+          if (sharedHandle === handle) clearSharedState() != null else false
+        }
+      if (failed) scope.cancel()
+    }
+  }
+
+  private fun stopIfUnbound() {
+    val scopeToStop =
+      synchronized(this) {
+        if (bindingCount > 0) return
+        clearSharedState()
+      }
+    scopeToStop?.let(::stopSharedWorker)
+  }
+
+  /** Clears the state of the running worker, returning its scope. Must hold the lock. */
+  private fun clearSharedState(): CoroutineScope? {
+    val scope = sharedScope
+    sharedHandle = null
+    sharedScope = null
+    pendingStop = null
+    return scope
+  }
+
+  /** Stops the worker running in [scope]. Must not hold the lock. */
+  private fun stopSharedWorker(scope: CoroutineScope) {
+    // Cancelling the scope unbinds the worker, running its onStop.
+    scope.cancel()
+    val key = key ?: return
+    synchronized(sharedWorkers) {
+      // Unless it was started again in the meantime.
+      if (sharedWorkers[key] === this && !isRunning) sharedWorkers.remove(key)
+    }
+  }
+
+  public companion object {
+    private val sharedWorkers = HashMap<Any, SharedRibCoroutineWorker>()
+
+    /**
+     * Returns the [SharedRibCoroutineWorker] for [key], creating it from [create] if there is none
+     * running. This allows RIBs that don't have access to each other's worker instances to share a
+     * single upstream, e.g. keyed by the type of data it streams.
+     *
+     * @throws IllegalArgumentException if a worker is running for [key] with a different
+     *   [gracePeriodMillis] or [context].
+     */
+    @JvmStatic
+    @JvmOverloads
+    public fun forKey(
+      key: Any,
+      gracePeriodMillis: Long = 0L,
+      context: CoroutineContext = RibDispatchers.Default,
+      create: () -> RibCoroutineWorker,
+    ): SharedRibCoroutineWorker =
+      synchronized(sharedWorkers) {
+        val existing = sharedWorkers[key]
+        if (existing != null) {
+          require(
+            existing.gracePeriodMillis == gracePeriodMillis && existing.context == context,
+          ) {
+            "Shared worker for $key is running with grace period ${existing.gracePeriodMillis} " +
+              "and context ${existing.context}, but got $gracePeriodMillis and $context"
+          }
+          existing
+        } else {
+          SharedRibCoroutineWorker(create(), gracePeriodMillis, context).also {
+            it.key = key
+            sharedWorkers[key] = it
+          }
+        }
+      }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import java.lang.ref.WeakReference
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * A router event that does not keep routers alive, delivered by [RibEvents.weakRouterEventsFlow].
+ *
+ * @property eventType [RibEventType]
+ * @property sequenceNumber position of this event among all weak router events, starting at 0.
+ * @property routerClassName class name of the router.
+ * @property routerIdentity identity hash code of the router.
+ * @property parentRouterClassName class name of the parent router, null for root routers.
+ * @property parentRouterIdentity identity hash code of the parent router, 0 for root routers.
+ */
+public class WeakRibRouterEvent
+internal constructor(
+  public val eventType: RibEventType,
+  router: Router<*>,
+  parentRouter: Router<*>?,
+  public val sequenceNumber: Long,
+) {
+  private val routerReference = WeakReference(router)
+  private val parentRouterReference = parentRouter?.let { WeakReference(it) }
+
+  public val routerClassName: String = router.javaClass.name
+  public val routerIdentity: Int = System.identityHashCode(router)
+  public val parentRouterClassName: String? = parentRouter?.javaClass?.name
+  public val parentRouterIdentity: Int = parentRouter?.let { System.identityHashCode(it) } ?: 0
+
+  /** The router, or null once it has been garbage collected. */
+  public val router: Router<*>?
+    get() = routerReference.get()
+
+  /** The parent router, or null for root routers or once it has been garbage collected. */
+  public val parentRouter: Router<*>?
+    get() = parentRouterReference?.get()
+
+  override fun toString(): String =
+    "WeakRibRouterEvent($eventType, $routerClassName@$routerIdentity, " +
+      "parent=$parentRouterClassName@$parentRouterIdentity, #$sequenceNumber)"
+}
+
+/** Delivery counters of [RibEvents.weakRouterEventsFlow], summed over all collectors. */
+public class RibRouterEventMetrics internal constructor() {
+  private val emitted = AtomicLong()
+  private val dropped = AtomicLong()
+  private val maxLag = AtomicLong()
+
+  /** Number of events emitted while being collected. */
+  public val emittedCount: Long
+    get() = emitted.get()
+
+  /** Number of events collectors missed because their buffer was full. */
+  public val droppedCount: Long
+    get() = dropped.get()
+
+  /**
+   * Highest number of events emitted but not yet delivered to a collector, observed when
+   * delivering an event, since creation or the last [resetMaxConsumerLag].
+   */
+  public val maxConsumerLag: Long
+    get() = maxLag.get()
+
+  /** Resets [maxConsumerLag]. */
+  public fun resetMaxConsumerLag() {
+    maxLag.set(0L)
+  }
+
+  internal fun nextSequenceNumber(): Long = emitted.getAndIncrement()
+
+  /** Records the delivery of [event] after [previousSequenceNumber] to the same collector. */
+  internal fun onDelivered(event: WeakRibRouterEvent, previousSequenceNumber: Long) {
+    if (previousSequenceNumber >= 0) {
+      val missed = event.sequenceNumber - previousSequenceNumber - 1
+      if (missed > 0) dropped.addAndGet(missed)
+    }
+    val lag = emitted.get() - 1 - event.sequenceNumber
+    var max = maxLag.get()
+    while (lag > max && !maxLag.compareAndSet(max, lag)) {
+      max = maxLag.get()
+    }
+  }
+}
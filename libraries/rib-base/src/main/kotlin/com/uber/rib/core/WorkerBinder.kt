@@ -106,6 +106,25 @@ public object WorkerBinder {
     }
   }
 
+  /**
+   * Bind workers to an interactor's lifecycle events as a group. A single lifecycle collector per
+   * binding [CoroutineContext] starts the workers in order when the interactor becomes active, and
+   * stops them in the same order when it becomes inactive or when the group is unbound.
+   *
+   * @param interactor The interactor that provides the lifecycle.
+   * @param workers The classes that want to be informed when to start and stop doing work.
+   * @return [WorkerUnbinder] to unbind all [workers] at once.
+   */
+  @JvmStatic
+  public fun bindAll(
+    interactor: Interactor<*, *>,
+    workers: Iterable<Worker>,
+  ): WorkerUnbinder =
+    workers.bindAll(
+      interactor.lifecycleFlow,
+      Interactor.lifecycleRange,
+    )
+
   /**
    * Bind a worker (ie. a manager or any other class that needs an presenter's lifecycle) to an
    * presenter's lifecycle events. Inject this class into your presenter and call this method on any
@@ -158,6 +177,25 @@ public object WorkerBinder {
     }
   }
 
+  /**
+   * Bind workers to a presenter's lifecycle events as a group. A single lifecycle collector per
+   * binding [CoroutineContext] starts the workers in order when the presenter loads, and stops them
+   * in the same order when it unloads or when the group is unbound.
+   *
+   * @param presenter The presenter that provides the lifecycle.
+   * @param workers The classes that want to be informed when to start and stop doing work.
+   * @return [WorkerUnbinder] to unbind all [workers] at once.
+   */
+  @JvmStatic
+  public fun bindAll(
+    presenter: Presenter,
+    workers: Iterable<Worker>,
+  ): WorkerUnbinder =
+    workers.bindAll(
+      presenter.lifecycleFlow,
+      Presenter.lifecycleRange,
+    )
+
   @OptIn(CoreFriendModuleApi::class)
   @JvmStatic
   @VisibleForTesting
@@ -273,12 +311,7 @@ private fun <T : Comparable<T>> Worker.bind(
       dispatcherAtBinder,
       worker = this,
     )
-  val coroutineStart =
-    if (coroutineContext == RibDispatchers.Unconfined) {
-      CoroutineStart.UNDISPATCHED
-    } else {
-      CoroutineStart.DEFAULT
-    }
+  val coroutineStart = coroutineStartFor(coroutineContext)
 
   val completable = CompletableSubject.create()
   val scopeProvider = ScopeProvider { completable }
@@ -305,7 +338,9 @@ private fun <T : Comparable<T>> Worker.bind(
             RibActionEmitterType.DEPRECATED_WORKER,
             RibEventType.DETACHED,
           ) {
-            onStop()
+            RibWorkerWatchdog.watch(this@bind, RibEventType.DETACHED, isBlocking = true) {
+              onStop()
+            }
           }
 
           completable.onComplete()
@@ -316,9 +351,111 @@ private fun <T : Comparable<T>> Worker.bind(
             RibActionEmitterType.DEPRECATED_WORKER,
             RibEventType.ATTACHED,
           ) {
-            onStart(workerScopeProvider)
+            RibWorkerWatchdog.watch(this@bind, RibEventType.ATTACHED, isBlocking = true) {
+              onStart(workerScopeProvider)
+            }
           }
         }
     }
   return WorkerUnbinder(job::cancel)
 }
+
+/** Binds workers in groups sharing the same binding [CoroutineContext], see [Worker.bind]. */
+private fun <T : Comparable<T>> Iterable<Worker>.bindAll(
+  lifecycle: Flow<T>,
+  lifecycleRange: ClosedRange<T>,
+): WorkerUnbinder {
+  val dispatcherAtBinder = RibCoroutinesConfig.deprecatedWorkerDispatcher
+  val groups = LinkedHashMap<CoroutineContext, MutableList<Worker>>()
+  for (worker in this) {
+    groups.getOrPut(getJobCoroutineContext(dispatcherAtBinder, worker)) { ArrayList() }.add(worker)
+  }
+  val unbinders =
+    groups.map { (coroutineContext, workers) ->
+      workers.bindGroup(lifecycle, lifecycleRange, coroutineContext)
+    }
+  return unbinders.singleOrNull() ?: WorkerUnbinder { unbinders.forEach { it.unbind() } }
+}
+
+/**
+ * Same as [Worker.bind] for every worker of the group, but with a single lifecycle collector. Each
+ * worker keeps its own [WorkerScopeProvider], and a worker throwing from [Worker.onStart] or
+ * [Worker.onStop] does not prevent the calls on the other workers.
+ */
+private fun <T : Comparable<T>> List<Worker>.bindGroup(
+  lifecycle: Flow<T>,
+  lifecycleRange: ClosedRange<T>,
+  coroutineContext: CoroutineContext,
+): WorkerUnbinder {
+  val workers = this
+  val coroutineStart = coroutineStartFor(coroutineContext)
+
+  val completables = workers.map { CompletableSubject.create() }
+  val workerScopeProviders =
+    completables.map { completable -> WorkerScopeProvider(ScopeProvider { completable }) }
+
+  /* See Worker.bind for the choice of GlobalScope and coroutine start. */
+  @OptIn(DelicateCoroutinesApi::class)
+  val job =
+    GlobalScope.launch(
+      coroutineContext,
+      start = coroutineStart,
+    ) {
+      lifecycle
+        .takeWhile { it < lifecycleRange.endInclusive }
+        .onCompletion {
+          workers.forEachIsolated { index, worker ->
+            try {
+              triggerRibActionAndEmitEvents(
+                worker,
+                RibActionEmitterType.DEPRECATED_WORKER,
+                RibEventType.DETACHED,
+              ) {
+                RibWorkerWatchdog.watch(worker, RibEventType.DETACHED, isBlocking = true) {
+                  worker.onStop()
+                }
+              }
+            } finally {
+              completables[index].onComplete()
+            }
+          }
+        }
+        .collect {
+          workers.forEachIsolated { index, worker ->
+            triggerRibActionAndEmitEvents(
+              worker,
+              RibActionEmitterType.DEPRECATED_WORKER,
+              RibEventType.ATTACHED,
+            ) {
+              RibWorkerWatchdog.watch(worker, RibEventType.ATTACHED, isBlocking = true) {
+                worker.onStart(workerScopeProviders[index])
+              }
+            }
+          }
+        }
+    }
+  return WorkerUnbinder(job::cancel)
+}
+
+private fun coroutineStartFor(coroutineContext: CoroutineContext): CoroutineStart =
+  if (coroutineContext == RibDispatchers.Unconfined) {
+    CoroutineStart.UNDISPATCHED
+  } else {
+    CoroutineStart.DEFAULT
+  }
+
+/**
+ * Runs [action] for every worker, even when it throws for some of them. The first failure is
+ * rethrown once all workers were visited, with later failures added as suppressed exceptions.
+ */
+private inline fun List<Worker>.forEachIsolated(action: (index: Int, worker: Worker) -> Unit) {
+  var failure: Throwable? = null
+  forEachIndexed { index, worker ->
+    try {
+      action(index, worker)
+    } catch (e: Throwable) {
+      failure?.addSuppressed(e) ?: run { failure = e }
+    }
+  }
+  failure?.let { throw it }
+}
@@ -330,7 +330,6 @@ class InteractorAndRouterTest {
   }
 
   private fun setupInteractorForStateFlow() {
-    RibEvents.useStateFlowInteractorEvent()
     val presenter: TestPresenter = mock()
     val component: InteractorComponent<TestPresenter, TestInteractor> = mock {
       on { presenter() } doReturn (presenter)
@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.advanceUntilIdle
+import kotlinx.coroutines.test.runTest
+import org.junit.Test
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.verify
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class PrebuiltRouterTest {
+
+  private val component: InteractorComponent<*, *> = mock()
+  private val ribRefWatcher: RibRefWatcher = mock()
+  private var buildCount = 0
+
+  @Test
+  fun prebuildRouter_shouldBuildOnDispatcher() = runTest {
+    val prebuiltRouter = prebuildRouter(StandardTestDispatcher(testScheduler)) { build() }
+    assertThat(prebuiltRouter.isBuilt).isFalse()
+
+    advanceUntilIdle()
+
+    assertThat(prebuiltRouter.isBuilt).isTrue()
+    assertThat(buildCount).isEqualTo(1)
+  }
+
+  @Test
+  fun attachChild_whenNotBuiltYet_shouldBuildOnceAndAttach() = runTest {
+    val parent = build()
+    parent.dispatchAttach(null)
+    val prebuiltRouter = prebuildRouter(StandardTestDispatcher(testScheduler)) { build() }
+
+    val child = parent.attachChild(prebuiltRouter, "child")
+
+    assertThat(prebuiltRouter.isBuilt).isTrue()
+    assertThat(buildCount).isEqualTo(2)
+    assertThat(parent.getChildren()).containsExactly(child)
+    verify(child.interactor).dispatchAttach(null)
+  }
+
+  @Test
+  fun attachChild_whenAlreadyAttached_shouldThrow() = runTest {
+    val parent = build()
+    parent.dispatchAttach(null)
+    val prebuiltRouter = prebuildRouter(StandardTestDispatcher(testScheduler)) { build() }
+    advanceUntilIdle()
+    parent.attachChild(prebuiltRouter, "child")
+
+    val result = runCatching { parent.attachChild(prebuiltRouter, "other") }
+
+    assertThat(result.exceptionOrNull()).isInstanceOf(IllegalStateException::class.java)
+  }
+
+  @Test
+  fun attachChild_whenBackgroundBuildCancelled_shouldBuildOnAttach() = runTest {
+    val parent = build()
+    parent.dispatchAttach(null)
+    val prebuildScope = CoroutineScope(coroutineContext + Job())
+    val prebuiltRouter =
+      prebuildScope.prebuildRouter(StandardTestDispatcher(testScheduler)) { build() }
+    prebuildScope.cancel()
+
+    val child = parent.attachChild(prebuiltRouter, "child")
+
+    assertThat(buildCount).isEqualTo(2)
+    assertThat(parent.getChildren()).containsExactly(child)
+  }
+
+  private fun build(): TestRouter {
+    buildCount++
+    return TestRouter()
+  }
+
+  private inner class TestRouter :
+    Router<Interactor<*, *>>(
+      component,
+      mock<Interactor<*, *>>(),
+      ribRefWatcher,
+      Thread.currentThread(),
+    ) {
+    override fun attachToInteractor() {
+      // ignore the Interactor since we're only testing the Router
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+
+class RibActionRecorderTest {
+  private val recorder = RibActionRecorder(capacity = 4)
+  private val batch = RibActionBatch(capacity = 8)
+
+  @Test
+  fun drainTo_copiesRecordsInOrder() {
+    val interactor = FakeEmitter()
+    recorder.record(
+      interactor,
+      RibActionEmitterType.INTERACTOR,
+      RibEventType.ATTACHED,
+      RibActionState.STARTED,
+    )
+    recorder.record(
+      interactor,
+      RibActionEmitterType.INTERACTOR,
+      RibEventType.ATTACHED,
+      RibActionState.COMPLETED,
+    )
+
+    assertThat(recorder.drainTo(batch)).isEqualTo(2)
+
+    assertThat(batch.size).isEqualTo(2)
+    assertThat(batch.droppedCount).isEqualTo(0)
+    assertThat(batch.ribActionState(0)).isEqualTo(RibActionState.STARTED)
+    assertThat(batch.ribActionState(1)).isEqualTo(RibActionState.COMPLETED)
+    assertThat(batch.ribActionEmitterType(1)).isEqualTo(RibActionEmitterType.INTERACTOR)
+    assertThat(batch.ribEventType(1)).isEqualTo(RibEventType.ATTACHED)
+    assertThat(batch.timestampNanos(1)).isAtLeast(batch.timestampNanos(0))
+    assertThat(batch.threadId(0)).isEqualTo(Thread.currentThread().id)
+    assertThat(recorder.emitterName(batch.emitterId(0))).isEqualTo(FakeEmitter::class.java.name)
+  }
+
+  @Test
+  fun emitterId_isInternedPerClass() {
+    recordAttach(FakeEmitter())
+    recordAttach(FakeEmitter())
+    recordAttach(OtherFakeEmitter())
+
+    recorder.drainTo(batch)
+
+    assertThat(batch.emitterId(0)).isEqualTo(batch.emitterId(1))
+    assertThat(batch.emitterId(2)).isNotEqualTo(batch.emitterId(0))
+  }
+
+  @Test
+  fun drainTo_whenConsumerFallsBehind_dropsOldestRecords() {
+    repeat(6) { recordAttach(FakeEmitter()) }
+
+    assertThat(recorder.drainTo(batch)).isEqualTo(4)
+    assertThat(batch.droppedCount).isEqualTo(2)
+    assertThat(recorder.drainTo(batch)).isEqualTo(0)
+    assertThat(batch.droppedCount).isEqualTo(0)
+  }
+
+  @Test
+  fun drainTo_withSmallBatch_keepsRemainingRecordsForNextDrain() {
+    val smallBatch = RibActionBatch(capacity = 3)
+    repeat(4) { recordAttach(FakeEmitter()) }
+
+    assertThat(recorder.drainTo(smallBatch)).isEqualTo(3)
+    assertThat(recorder.drainTo(smallBatch)).isEqualTo(1)
+  }
+
+  @Test(expected = IndexOutOfBoundsException::class)
+  fun batchAccess_outOfSize_throws() {
+    recordAttach(FakeEmitter())
+    recorder.drainTo(batch)
+
+    batch.timestampNanos(1)
+  }
+
+  private fun recordAttach(emitter: RibActionEmitter) {
+    recorder.record(
+      emitter,
+      RibActionEmitterType.INTERACTOR,
+      RibEventType.ATTACHED,
+      RibActionState.STARTED,
+    )
+  }
+
+  private class FakeEmitter : RibActionEmitter
+
+  private class OtherFakeEmitter : RibActionEmitter
+}
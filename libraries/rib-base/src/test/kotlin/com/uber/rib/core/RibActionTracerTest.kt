@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.After
+import org.junit.Test
+
+class RibActionTracerTest {
+  private val spans = mutableListOf<Span>()
+  private val tracer =
+    object : RibActionTracer {
+      override fun onRibActionStarted(
+        ribActionEmitter: RibActionEmitter,
+        ribActionEmitterType: RibActionEmitterType,
+        ribEventType: RibEventType,
+      ) {
+        spans.add(Span(ribActionEmitter, ribEventType, durationNanos = null))
+      }
+
+      override fun onRibActionEnded(
+        ribActionEmitter: RibActionEmitter,
+        ribActionEmitterType: RibActionEmitterType,
+        ribEventType: RibEventType,
+        startNanos: Long,
+        durationNanos: Long,
+      ) {
+        spans.add(Span(ribActionEmitter, ribEventType, durationNanos))
+      }
+    }
+
+  @After
+  fun tearDown() {
+    RibEvents.setRibActionTracer(null)
+  }
+
+  @Test
+  fun triggerRibAction_withTracer_reportsSpanPerInstance() {
+    RibEvents.setRibActionTracer(tracer)
+    val first = FakeEmitter()
+    val second = FakeEmitter()
+
+    trigger(first) { trigger(second) { Thread.sleep(1) } }
+
+    assertThat(spans.map { it.emitter }).containsExactly(first, second, second, first).inOrder()
+    assertThat(spans[2].durationNanos).isAtLeast(1_000_000L)
+    assertThat(spans[3].durationNanos).isAtLeast(spans[2].durationNanos)
+  }
+
+  @Test
+  fun triggerRibAction_whenActionThrows_stillEndsSpan() {
+    RibEvents.setRibActionTracer(tracer)
+    val emitter = FakeEmitter()
+
+    runCatching { trigger(emitter) { throw IllegalStateException() } }
+
+    assertThat(spans).hasSize(2)
+    assertThat(spans[1].durationNanos).isNotNull()
+  }
+
+  @Test
+  fun triggerRibAction_withoutTracer_runsAction() {
+    var ran = false
+
+    trigger(FakeEmitter()) { ran = true }
+
+    assertThat(ran).isTrue()
+    assertThat(spans).isEmpty()
+  }
+
+  @Test
+  fun triggerRibAction_withSeveralTracers_nestsTheirSpans() {
+    val calls = mutableListOf<String>()
+    val first = NamedTracer("first", calls)
+    val second = NamedTracer("second", calls)
+    RibEvents.addRibActionTracer(first)
+    RibEvents.addRibActionTracer(second)
+
+    trigger(FakeEmitter()) {}
+    RibEvents.removeRibActionTracer(first)
+    trigger(FakeEmitter()) {}
+
+    assertThat(calls)
+      .containsExactly(
+        "first started",
+        "second started",
+        "second ended",
+        "first ended",
+        "second started",
+        "second ended",
+      )
+      .inOrder()
+  }
+
+  @Test
+  fun ribActionName_mapsCallbacks() {
+    assertThat(RibActionEmitterType.INTERACTOR.ribActionName(RibEventType.ATTACHED))
+      .isEqualTo("didBecomeActive")
+    assertThat(RibActionEmitterType.PRESENTER.ribActionName(RibEventType.DETACHED))
+      .isEqualTo("willUnload")
+    assertThat(RibActionEmitterType.DEPRECATED_WORKER.ribActionName(RibEventType.ATTACHED))
+      .isEqualTo("onStart")
+  }
+
+  private fun trigger(emitter: RibActionEmitter, action: () -> Unit) {
+    RibEvents.triggerRibActionAndEmitEvents(
+      emitter,
+      RibActionEmitterType.INTERACTOR,
+      RibEventType.ATTACHED,
+      action,
+    )
+  }
+
+  private class FakeEmitter : RibActionEmitter
+
+  private class NamedTracer(private val name: String, private val calls: MutableList<String>) :
+    RibActionTracer {
+    override fun onRibActionStarted(
+      ribActionEmitter: RibActionEmitter,
+      ribActionEmitterType: RibActionEmitterType,
+      ribEventType: RibEventType,
+    ) {
+      calls.add("$name started")
+    }
+
+    override fun onRibActionEnded(
+      ribActionEmitter: RibActionEmitter,
+      ribActionEmitterType: RibActionEmitterType,
+      ribEventType: RibEventType,
+      startNanos: Long,
+      durationNanos: Long,
+    ) {
+      calls.add("$name ended")
+    }
+  }
+
+  private data class Span(
+    val emitter: RibActionEmitter,
+    val ribEventType: RibEventType,
+    val durationNanos: Long?,
+  )
+}
@@ -147,6 +147,43 @@ class RibCoroutineWorkerTest {
     bind(worker).join()
   }
 
+  @Test
+  fun bindWithPriority_onFirstFrameDrawn_thenStartsWorker() = runTest {
+    RibWorkerStartScheduler.isEnabled = true
+    try {
+      val handle = bind(worker, WorkerStartPriority.AFTER_FIRST_DRAW)
+      runCurrent()
+      assertThat(worker.onStartStarted).isFalse()
+      assertThat(handle.isActive).isTrue()
+      RibWorkerStartScheduler.onFirstFrameDrawn()
+      handle.join()
+      assertThat(worker.onStartFinished).isTrue()
+      handle.unbind()
+    } finally {
+      RibWorkerStartScheduler.isEnabled = false
+      RibWorkerStartScheduler.reset()
+    }
+  }
+
+  @Test
+  fun bindWithPriority_onUnbindBeforeRelease_thenNeitherStartsNorStopsWorker() = runTest {
+    RibWorkerStartScheduler.isEnabled = true
+    try {
+      val handle = bind(worker, WorkerStartPriority.IDLE)
+      runCurrent()
+      handle.unbind().join()
+      RibWorkerStartScheduler.onFirstFrameDrawn()
+      RibWorkerStartScheduler.onMainLooperIdle()
+      advanceUntilIdle()
+      assertThat(handle.isCancelled).isTrue()
+      assertThat(worker.onStartStarted).isFalse()
+      assertThat(worker.onStopRan).isFalse()
+    } finally {
+      RibWorkerStartScheduler.isEnabled = false
+      RibWorkerStartScheduler.reset()
+    }
+  }
+
   @OptIn(DelicateCoroutinesApi::class)
   @Test
   fun onBindingWithCustomDispatcher_dispatchesToCustomDispatcher() = runTest {
@@ -186,6 +223,19 @@ class RibCoroutineWorkerTest {
     }
   }
 
+  @Test
+  fun bind_withinSubtreeDispatchers_runsOnSubtreeDispatcher() = runTest {
+    var started = false
+    val subtreeDispatchers = RibSubtreeDispatchers("feature")
+    val subtreeScope = CoroutineScope(coroutineContext + subtreeDispatchers)
+    val handle = subtreeScope.bind(RibCoroutineWorker { started = true }, RibDispatchers.IO)
+    runCurrent()
+
+    assertThat(started).isTrue()
+    assertThat(subtreeDispatchers.IO.dispatchedCount).isAtLeast(1L)
+    handle.unbind()
+  }
+
   @Test
   fun asWorker_autoDisposeWithCoroutineScope_lateEmissionIsReceivedBySubscriber() = runTest {
     val router = mock<Router<*>>()
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import com.uber.autodispose.lifecycle.LifecycleEndedException
+import com.uber.autodispose.lifecycle.LifecycleNotStartedException
+import com.uber.rib.core.internal.CoreFriendModuleApi
+import io.reactivex.Completable
+import io.reactivex.observers.TestObserver
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.UnconfinedTestDispatcher
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.assertThrows
+import org.junit.Test
+
+@OptIn(CoreFriendModuleApi::class, ExperimentalCoroutinesApi::class)
+class RibLifecycleTest {
+
+  private val lifecycle = RibLifecycle<Int>()
+
+  @Test
+  fun current_shouldBeLastEmittedEvent() {
+    assertThat(lifecycle.current).isNull()
+
+    lifecycle.emit(1)
+    lifecycle.emit(2)
+
+    assertThat(lifecycle.current).isEqualTo(2)
+  }
+
+  @Test
+  fun addListener_shouldReplayCurrentAndReceiveEventsUntilRemoved() {
+    val events = mutableListOf<Int>()
+    val listener = RibLifecycle.Listener<Int> { events.add(it) }
+    lifecycle.emit(1)
+
+    lifecycle.addListener(listener)
+    lifecycle.emit(2)
+    lifecycle.removeListener(listener)
+    lifecycle.emit(3)
+
+    assertThat(events).containsExactly(1, 2).inOrder()
+  }
+
+  @Test
+  fun emit_fromListener_shouldDeliverEventsInOrderToAllListeners() {
+    val events = mutableListOf<Int>()
+    lifecycle.addListener { if (it == 1) lifecycle.emit(2) }
+    lifecycle.addListener { events.add(it) }
+
+    lifecycle.emit(1)
+
+    assertThat(events).containsExactly(1, 2).inOrder()
+    assertThat(lifecycle.current).isEqualTo(2)
+  }
+
+  @Test
+  fun emit_whenListenerThrows_shouldDeliverToOtherListenersAndLaterEvents() {
+    val events = mutableListOf<Int>()
+    lifecycle.addListener { check(it != 1) }
+    lifecycle.addListener { events.add(it) }
+
+    assertThrows(IllegalStateException::class.java) { lifecycle.emit(1) }
+    lifecycle.emit(2)
+
+    assertThat(events).containsExactly(1, 2).inOrder()
+  }
+
+  @Test
+  fun emit_whenListenerThrowsOnEndEvent_shouldStillEndScopes() {
+    lifecycle.emit(1)
+    val job = lifecycle.jobUntil(1..3)
+    val observer = Completable.wrap(lifecycle.requestScope(1..3)).test()
+    lifecycle.addListener { check(it != 3) }
+
+    assertThrows(IllegalStateException::class.java) { lifecycle.emit(3) }
+
+    assertThat(job.isCancelled).isTrue()
+    observer.assertComplete()
+  }
+
+  @Test
+  fun asObservable_shouldEmitUntilDisposed() {
+    val observer = TestObserver<Int>()
+    lifecycle.emit(1)
+
+    lifecycle.asObservable().subscribe(observer)
+    lifecycle.emit(2)
+    observer.dispose()
+    lifecycle.emit(3)
+
+    observer.assertValues(1, 2)
+    assertThat(lifecycle.asObservable()).isSameInstanceAs(lifecycle.asObservable())
+  }
+
+  @Test
+  fun asFlow_shouldReplayCurrentAndEmitLaterEvents() = runTest {
+    lifecycle.emit(1)
+    assertThat(lifecycle.asFlow().replayCache).containsExactly(1)
+    val events = mutableListOf<Int>()
+
+    val job =
+      launch(UnconfinedTestDispatcher(testScheduler)) {
+        lifecycle.asFlow().take(2).toList(events)
+      }
+    lifecycle.emit(2)
+    job.join()
+
+    assertThat(events).containsExactly(1, 2).inOrder()
+    assertThat(lifecycle.asFlow().first()).isEqualTo(2)
+  }
+
+  @Test
+  fun requestScope_shouldShareScopeUntilEndEvent() {
+    lifecycle.emit(1)
+    val scope = lifecycle.requestScope(1..3)
+    val observer = Completable.wrap(scope).test()
+
+    assertThat(lifecycle.requestScope(1..3)).isSameInstanceAs(scope)
+    lifecycle.emit(2)
+    observer.assertNotComplete()
+    lifecycle.emit(3)
+    observer.assertComplete()
+    assertThrows(LifecycleEndedException::class.java) { lifecycle.requestScope(1..3) }
+  }
+
+  @Test
+  fun requestScope_whenNotStarted_shouldThrow() {
+    assertThrows(LifecycleNotStartedException::class.java) { lifecycle.requestScope(1..3) }
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import com.uber.rib.core.internal.CoreFriendModuleApi
+import org.junit.Test
+import org.mockito.kotlin.mock
+
+class RibStateBundleTest {
+
+  private val component: InteractorComponent<*, *> = mock()
+  private val ribRefWatcher: RibRefWatcher = mock()
+
+  @Test
+  fun snapshot_shouldContainWrittenValues() {
+    val bundle = RibStateBundle()
+    bundle.putString("string", "value")
+    bundle.putInt("int", 7)
+    bundle.putBoolean("boolean", true)
+    bundle.putBundleExtra("nested", RibStateBundle().apply { putInt("int", 8) })
+
+    val snapshot = bundle.snapshot()
+
+    assertThat(snapshot.keys()).containsExactly("string", "int", "boolean", "nested").inOrder()
+    assertThat(snapshot["string"]).isEqualTo("value")
+    assertThat(snapshot["int"]).isEqualTo(7)
+    assertThat(snapshot["boolean"]).isEqualTo(true)
+    assertThat(snapshot.getSnapshot("nested")?.get("int")).isEqualTo(8)
+    assertThat(snapshot.sizeBytes)
+      .isEqualTo(snapshot.ownSizeBytes + snapshot.getSnapshot("nested")!!.sizeBytes)
+  }
+
+  @Test
+  fun snapshot_whenUnchanged_shouldReturnPreviousSnapshot() {
+    val nested = RibStateBundle()
+    val bundle = RibStateBundle().apply { putBundleExtra("nested", nested) }
+
+    val first = bundle.snapshot()
+
+    assertThat(bundle.snapshot()).isSameInstanceAs(first)
+    nested.putInt("int", 1)
+    val second = bundle.snapshot()
+    assertThat(second).isNotSameInstanceAs(first)
+    assertThat(second.getSnapshot("nested")?.get("int")).isEqualTo(1)
+  }
+
+  @Test
+  fun snapshot_whenParcelableCannotBeParcelled_shouldFlagUnmeasuredValues() {
+    // Parcel is not available in these unit tests, so nothing can be parcelled.
+    val nested = RibStateBundle().apply { putParcelable("parcelable", android.os.Bundle()) }
+    val bundle = RibStateBundle().apply { putBundleExtra("nested", nested) }
+
+    val snapshot = bundle.snapshot()
+
+    assertThat(snapshot.hasUnmeasuredValues).isTrue()
+    assertThat(RibStateBundle().apply { putInt("int", 1) }.snapshot().hasUnmeasuredValues)
+      .isFalse()
+  }
+
+  @OptIn(CoreFriendModuleApi::class)
+  @Test
+  fun subtreeSizes_shouldBeKeyedByRouterTagPath() {
+    val parent = StatefulRouter(StatefulInteractor("parent"))
+    val child = StatefulRouter(StatefulInteractor("a much longer child state"))
+    val grandChild = StatefulRouter(StatefulInteractor("grand child"))
+    parent.dispatchAttach(null)
+    parent.attachChild(child, "child")
+    child.attachChild(grandChild, "grandChild")
+    val bundle = RibStateBundle()
+
+    parent.saveInstanceStateInternal(bundle)
+
+    val sizes = bundle.snapshot().subtreeSizes()
+    assertThat(sizes.keys).containsExactly("", "child", "child/grandChild").inOrder()
+    assertThat(sizes.getValue("")).isGreaterThan(sizes.getValue("child"))
+    assertThat(sizes.getValue("child")).isGreaterThan(sizes.getValue("child/grandChild"))
+  }
+
+  private class StatefulInteractor(private val state: String) : Interactor<Any, Router<*>>(Any()) {
+    override fun onSaveInstanceState(outState: Bundle) {
+      outState.putString("state", state)
+    }
+  }
+
+  private inner class StatefulRouter(interactor: StatefulInteractor) :
+    Router<StatefulInteractor>(component, interactor, ribRefWatcher, Thread.currentThread())
+}
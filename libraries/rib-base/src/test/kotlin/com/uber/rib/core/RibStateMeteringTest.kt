@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import com.uber.rib.core.internal.CoreFriendModuleApi
+import org.junit.After
+import org.junit.Test
+import org.mockito.kotlin.mock
+
+@OptIn(CoreFriendModuleApi::class)
+class RibStateMeteringTest {
+
+  private val component: InteractorComponent<*, *> = mock()
+  private val ribRefWatcher: RibRefWatcher = mock()
+  private val measured = mutableListOf<Pair<Router<*>, Int>>()
+  private val shed = mutableListOf<Router<*>>()
+  private val listener =
+    object : RibStateSizeListener {
+      override fun onRibStateMeasured(
+        router: Router<*>,
+        interactorStateBytes: Int,
+        subtreeStateBytes: Int,
+      ) {
+        measured.add(router to subtreeStateBytes)
+      }
+
+      override fun onRibStateShed(router: Router<*>, stateBytes: Int, shedStateBytes: Int) {
+        shed.add(router)
+      }
+    }
+
+  @After
+  fun tearDown() {
+    RibStateMetering.sizeListener = null
+    RibStateMetering.budget = null
+  }
+
+  @Test
+  fun saveInstanceState_shouldReportChildrenBeforeParents() {
+    RibStateMetering.sizeListener = listener
+    val parent = StatefulRouter(StatefulInteractor(STATE))
+    val child = StatefulRouter(StatefulInteractor(STATE))
+    parent.dispatchAttach(null)
+    parent.attachChild(child, "child")
+
+    parent.saveInstanceStateInternal(RibStateBundle())
+
+    assertThat(measured.map { it.first }).containsExactly(child, parent).inOrder()
+    assertThat(measured[1].second).isEqualTo(2 * measured[0].second)
+  }
+
+  @Test
+  fun saveInstanceState_whenOverBudget_shouldDropLargestNonCriticalChild() {
+    val maxSubtreeBytes = 2 * stateBytes(STATE) + stateBytes(STATE + STATE)
+    RibStateMetering.sizeListener = listener
+    RibStateMetering.budget = RibStateBudget(maxSubtreeBytes)
+    val parent = StatefulRouter(StatefulInteractor(STATE))
+    val critical = StatefulRouter(StatefulInteractor(STATE + STATE))
+    val small = StatefulRouter(StatefulInteractor(STATE, isCritical = false))
+    val large = StatefulRouter(StatefulInteractor(STATE + STATE, isCritical = false))
+    parent.dispatchAttach(null)
+    parent.attachChild(critical, "critical")
+    parent.attachChild(small, "small")
+    parent.attachChild(large, "large")
+    val outState = RibStateBundle()
+
+    parent.saveInstanceStateInternal(outState)
+
+    val childStates = outState.getBundleExtra(Router.KEY_CHILD_ROUTERS)!!
+    assertThat(shed).containsExactly(large)
+    assertThat(childStates.getBundleExtra("large")).isNull()
+    assertThat(childStates.getBundleExtra("small")).isNotNull()
+    assertThat(childStates.getBundleExtra("critical")).isNotNull()
+    assertThat(measured.last().second).isEqualTo(maxSubtreeBytes)
+  }
+
+  private fun stateBytes(state: String): Int =
+    RibStateBundle().apply { putString(KEY_STATE, state) }.snapshot().sizeBytes
+
+  private class StatefulInteractor(
+    private val state: String,
+    private val isCritical: Boolean = true,
+  ) : Interactor<Any, Router<*>>(Any()) {
+    override val isInstanceStateCritical: Boolean
+      get() = isCritical
+
+    override fun onSaveInstanceState(outState: Bundle) {
+      outState.putString(KEY_STATE, state)
+    }
+  }
+
+  private inner class StatefulRouter(interactor: StatefulInteractor) :
+    Router<StatefulInteractor>(component, interactor, ribRefWatcher, Thread.currentThread())
+
+  private companion object {
+    private const val KEY_STATE = "state"
+    private const val STATE = "some saved state of a reasonable length"
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import com.jakewharton.rxrelay2.BehaviorRelay
+import com.uber.rib.core.WorkerBinder.mapInteractorLifecycleToWorker
+import com.uber.rib.core.lifecycle.InteractorEvent
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class RibWorkerWatchdogTest {
+  @get:Rule val ribCoroutinesRule = RibCoroutinesRule()
+  private val worker = object : Worker {}
+  private val configuration = RecordingConfiguration()
+
+  @Before
+  fun setUp() {
+    RibWorkerWatchdog.onStopThresholdMillis = 20L
+    ForwardingConfiguration.install()
+    ForwardingConfiguration.delegate = configuration
+  }
+
+  @After
+  fun tearDown() {
+    RibWorkerWatchdog.isEnabled = false
+    RibWorkerWatchdog.onStartThresholdMillis = 100L
+    RibWorkerWatchdog.onStopThresholdMillis = 16L
+    ForwardingConfiguration.delegate = null
+  }
+
+  @Test
+  fun setThreshold_whenNotPositive_throws() {
+    val result = runCatching { RibWorkerWatchdog.onStopThresholdMillis = 0L }
+
+    assertThat(result.exceptionOrNull()).isInstanceOf(IllegalArgumentException::class.java)
+    assertThat(RibWorkerWatchdog.onStopThresholdMillis).isEqualTo(20L)
+  }
+
+  @Test
+  fun finish_whenFast_returnsNull() {
+    val call = RibWorkerWatchdog.WatchedCall(worker, RibEventType.DETACHED, isBlocking = true)
+    assertThat(call.finish()).isNull()
+  }
+
+  @Test
+  fun finish_whenBlockingPastThreshold_returnsStackSamples() {
+    val call = RibWorkerWatchdog.WatchedCall(worker, RibEventType.DETACHED, isBlocking = true)
+    Thread.sleep(100L)
+    val exception = call.finish()
+
+    assertThat(exception).isNotNull()
+    assertThat(exception!!).hasMessageThat().contains("${worker.javaClass.name}.onStop took")
+    assertThat(exception.stackTrace.map { it.methodName }).contains("sleep")
+  }
+
+  @Test
+  fun finish_whenSuspendingPastThreshold_reportsWithoutSampling() {
+    val call = RibWorkerWatchdog.WatchedCall(worker, RibEventType.DETACHED, isBlocking = false)
+    Thread.sleep(50L)
+    val exception = call.finish()
+
+    assertThat(exception).isNotNull()
+    assertThat(exception!!.suppressed).isEmpty()
+  }
+
+  @Test
+  fun workerBinder_whenOnStopIsSlow_reportsNonFatalWarning() {
+    RibWorkerWatchdog.isEnabled = true
+    val slowWorker =
+      object : Worker {
+        override fun onStop() {
+          Thread.sleep(50L)
+        }
+      }
+    val lifecycle = BehaviorRelay.createDefault(InteractorEvent.ACTIVE)
+    WorkerBinder.bind(mapInteractorLifecycleToWorker(lifecycle), slowWorker)
+
+    lifecycle.accept(InteractorEvent.INACTIVE)
+
+    val warning = configuration.warnings.single()
+    assertThat(warning).isInstanceOf(SlowWorkerCallException::class.java)
+    assertThat(warning).hasMessageThat().contains("${slowWorker.javaClass.name}.onStop took")
+  }
+
+  @Test
+  fun bind_whenOnStopIsSlow_reportsNonFatalWarning() = runTest {
+    RibWorkerWatchdog.isEnabled = true
+    val slowWorker =
+      object : RibCoroutineWorker {
+        override suspend fun onStart(scope: CoroutineScope) {}
+
+        override fun onStop(cause: Throwable) {
+          Thread.sleep(50L)
+        }
+      }
+    val handle = bind(slowWorker)
+    runCurrent()
+
+    handle.unbind()
+    runCurrent()
+
+    val warning = configuration.warnings.single()
+    assertThat(warning).isInstanceOf(SlowWorkerCallException::class.java)
+    assertThat(warning).hasMessageThat().contains("${slowWorker.javaClass.name}.onStop took")
+  }
+
+  @Test
+  fun bind_sharedWorker_onlyReportsTheWorkerItShares() = runTest {
+    RibWorkerWatchdog.isEnabled = true
+    RibWorkerWatchdog.onStartThresholdMillis = 20L
+    val slowWorker = RibCoroutineWorker { Thread.sleep(50L) }
+    val handle = bind(SharedRibCoroutineWorker(slowWorker))
+    runCurrent()
+
+    handle.unbind()
+    runCurrent()
+
+    // The wrapper waited as long as the worker it shares to start, but is not reported for it.
+    val warning = configuration.warnings.single()
+    assertThat(warning).hasMessageThat().contains("${slowWorker.javaClass.name}.onStart took")
+  }
+}
+
+/**
+ * Set once per test JVM, since [Rib.setConfiguration] can only be called once, and forwarding to
+ * [delegate]. Behaves like the default configuration without one.
+ */
+private object ForwardingConfiguration : Rib.Configuration {
+  @Volatile var delegate: Rib.Configuration? = null
+  private var isInstalled = false
+
+  @Synchronized
+  fun install() {
+    if (!isInstalled) {
+      Rib.setConfiguration(this)
+      isInstalled = true
+    }
+  }
+
+  override fun handleNonFatalError(errorMessage: String, throwable: Throwable?) {
+    delegate?.handleNonFatalError(errorMessage, throwable)
+      ?: throw RuntimeException(errorMessage, throwable)
+  }
+
+  override fun handleNonFatalWarning(warningMessage: String, throwable: Throwable?) {
+    delegate?.handleNonFatalWarning(warningMessage, throwable)
+  }
+
+  override fun handleDebugMessage(format: String, vararg args: Any?) {
+    delegate?.handleDebugMessage(format, *args)
+  }
+}
+
+private class RecordingConfiguration : Rib.Configuration {
+  val warnings = mutableListOf<Throwable?>()
+
+  override fun handleNonFatalError(errorMessage: String, throwable: Throwable?) {}
+
+  override fun handleNonFatalWarning(warningMessage: String, throwable: Throwable?) {
+    warnings.add(throwable)
+  }
+
+  override fun handleDebugMessage(format: String, vararg args: Any?) {}
+}
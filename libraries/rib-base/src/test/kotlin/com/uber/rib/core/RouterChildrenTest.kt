@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.Test
+import org.mockito.kotlin.mock
+
+class RouterChildrenTest {
+  private val children = RouterChildren()
+  private val first: Router<*> = mock()
+  private val second: Router<*> = mock()
+  private val third: Router<*> = mock()
+
+  @Test
+  fun snapshot_keepsAttachOrder() {
+    children.add(first, "first")
+    children.addAll(listOf(second to "second", third to "third"))
+
+    assertThat(children.snapshot()).containsExactly(first, second, third).inOrder()
+  }
+
+  @Test
+  fun snapshot_isNotAffectedByLaterRemovals() {
+    children.add(first, "first")
+    children.add(second, "second")
+    val snapshot = children.snapshot()
+
+    children.remove(second)
+
+    assertThat(snapshot).containsExactly(first, second).inOrder()
+    assertThat(children.snapshot()).containsExactly(first)
+  }
+
+  @Test
+  fun snapshot_whenUnchanged_isReused() {
+    children.add(first, "first")
+
+    assertThat(children.snapshot()).isSameInstanceAs(children.snapshot())
+  }
+
+  @Test
+  fun remove_returnsWhetherChildWasPresent() {
+    children.add(first, "first")
+
+    assertThat(children.remove(first)).isTrue()
+    assertThat(children.remove(first)).isFalse()
+    assertThat(children.containsTag("first")).isFalse()
+  }
+
+  @Test
+  fun findByTag_returnsChild() {
+    children.add(first, "first")
+    children.add(second, "second")
+
+    assertThat(children.findByTag("second")).isSameInstanceAs(second)
+    assertThat(children.findByTag("missing")).isNull()
+  }
+
+  @Test
+  fun findByTag_withDuplicateTags_fallsBackToRemainingChild() {
+    children.add(first, "tag")
+    children.add(second, "tag")
+    assertThat(children.findByTag("tag")).isSameInstanceAs(second)
+
+    children.remove(second)
+
+    assertThat(children.findByTag("tag")).isSameInstanceAs(first)
+    children.remove(first)
+    assertThat(children.containsTag("tag")).isFalse()
+  }
+}
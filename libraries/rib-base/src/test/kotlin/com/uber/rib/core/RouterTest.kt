@@ -16,9 +16,15 @@
 package com.uber.rib.core
 
 import com.google.common.truth.Truth.assertThat
+import com.uber.rib.core.internal.CoreFriendModuleApi
 import java.util.concurrent.atomic.AtomicBoolean
 import org.junit.Test
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.doThrow
 import org.mockito.kotlin.mock
+import org.mockito.kotlin.never
+import org.mockito.kotlin.verify
+import org.mockito.kotlin.whenever
 
 class RouterTest {
 
@@ -49,4 +55,111 @@ class RouterTest {
     router.dispatchAttach(null)
     assertThat(didLoad.get()).isTrue()
   }
+
+  @OptIn(CoreFriendModuleApi::class)
+  @Test
+  fun attachChildren_shouldAttachAllChildrenInOrder() {
+    val parent = TestRouter()
+    val children = List(3) { TestRouter() }
+    parent.dispatchAttach(null)
+
+    parent.attachChildren(children.mapIndexed { index, child -> child to "tag$index" })
+
+    assertThat(parent.getChildren()).containsExactlyElementsIn(children).inOrder()
+    assertThat(children.map { it.tag }).containsExactly("tag0", "tag1", "tag2").inOrder()
+    children.forEach { verify(it.interactor).dispatchAttach(null) }
+  }
+
+  @OptIn(CoreFriendModuleApi::class)
+  @Test
+  fun attachChildren_whenEmpty_shouldDoNothing() {
+    val parent = TestRouter()
+    parent.dispatchAttach(null)
+
+    parent.attachChildren(emptyList())
+
+    assertThat(parent.getChildren()).isEmpty()
+  }
+
+  @OptIn(CoreFriendModuleApi::class)
+  @Test
+  fun attachChildren_whenChildDetachedBySibling_shouldNotAttachIt() {
+    val parent = TestRouter()
+    val children = List(2) { TestRouter() }
+    parent.dispatchAttach(null)
+    doAnswer { parent.detachChild(children[1]) }
+      .whenever(children[0].interactor)
+      .dispatchAttach(null)
+
+    parent.attachChildren(children.mapIndexed { index, child -> child to "tag$index" })
+
+    assertThat(parent.getChildren()).containsExactly(children[0])
+    verify(children[1].interactor, never()).dispatchAttach(null)
+  }
+
+  @OptIn(CoreFriendModuleApi::class)
+  @Test
+  fun attachChildren_whenChildThrows_shouldRollBackTheWholeBatch() {
+    val parent = TestRouter()
+    val children = List(3) { TestRouter() }
+    parent.dispatchAttach(null)
+    doThrow(IllegalStateException()).whenever(children[1].interactor).dispatchAttach(null)
+
+    val result =
+      runCatching {
+        parent.attachChildren(children.mapIndexed { index, child -> child to "tag$index" })
+      }
+
+    assertThat(result.exceptionOrNull()).isInstanceOf(IllegalStateException::class.java)
+    assertThat(parent.getChildren()).isEmpty()
+    verify(children[0].interactor).dispatchDetach()
+    verify(children[1].interactor).dispatchDetach()
+    verify(children[2].interactor, never()).dispatchAttach(null)
+    verify(children[2].interactor, never()).dispatchDetach()
+  }
+
+  @OptIn(CoreFriendModuleApi::class)
+  @Test
+  fun attachChildren_shouldEndRouterActionsOnceChildrenAreRegistered() {
+    val parent = TestRouter()
+    val children = List(2) { TestRouter() }
+    parent.dispatchAttach(null)
+    val registeredOnActionEnd = mutableListOf<Boolean>()
+    RibEvents.setRibActionTracer(
+      object : RibActionTracer {
+        override fun onRibActionEnded(
+          ribActionEmitter: RibActionEmitter,
+          ribActionEmitterType: RibActionEmitterType,
+          ribEventType: RibEventType,
+          startNanos: Long,
+          durationNanos: Long,
+        ) {
+          if (ribActionEmitterType == RibActionEmitterType.ROUTER) {
+            registeredOnActionEnd.add(ribActionEmitter in parent.getChildren())
+          }
+        }
+      },
+    )
+
+    try {
+      parent.attachChildren(children.mapIndexed { index, child -> child to "tag$index" })
+    } finally {
+      RibEvents.setRibActionTracer(null)
+    }
+
+    assertThat(registeredOnActionEnd).containsExactly(true, true)
+    verify(ribRefWatcher).logBreadcrumb("ATTACHED", "TestRouter,TestRouter", "TestRouter")
+  }
+
+  private inner class TestRouter :
+    Router<Interactor<*, *>>(
+      component,
+      mock<Interactor<*, *>>(),
+      ribRefWatcher,
+      Thread.currentThread(),
+    ) {
+    override fun attachToInteractor() {
+      // ignore the Interactor since we're only testing the Router
+    }
+  }
 }
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineExceptionHandler
+import kotlinx.coroutines.CoroutineName
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.advanceTimeBy
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import org.junit.Rule
+import org.junit.Test
+import org.mockito.kotlin.mock
+
+private const val GRACE_PERIOD_MILLIS = 1_000L
+
+private val IgnoreExceptions = CoroutineExceptionHandler { _, _ -> }
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class SharedRibCoroutineWorkerTest {
+  @get:Rule val coroutineRule = RibCoroutinesRule()
+  private val worker = CountingWorker()
+
+  @Test
+  fun bind_fromSeveralScopes_startsWorkerOnce() = runTest {
+    val shared = SharedRibCoroutineWorker(worker)
+    val first = bind(shared)
+    val second = bind(shared)
+    first.join()
+    second.join()
+    assertThat(worker.startCount).isEqualTo(1)
+    assertThat(shared.activeBindingCount).isEqualTo(2)
+
+    first.unbind().join()
+    runCurrent()
+    assertThat(worker.stopCount).isEqualTo(0)
+
+    second.unbind().join()
+    runCurrent()
+    assertThat(worker.stopCount).isEqualTo(1)
+    assertThat(shared.isRunning).isFalse()
+  }
+
+  @Test
+  fun rebind_withinGracePeriod_keepsWorkerRunning() = runTest {
+    val shared = SharedRibCoroutineWorker(worker, GRACE_PERIOD_MILLIS)
+    bind(shared).apply { join() }.unbind().join()
+    advanceTimeBy(GRACE_PERIOD_MILLIS / 2)
+    val handle = bind(shared).apply { join() }
+    advanceTimeBy(GRACE_PERIOD_MILLIS)
+    assertThat(worker.startCount).isEqualTo(1)
+    assertThat(worker.stopCount).isEqualTo(0)
+
+    handle.unbind().join()
+    advanceTimeBy(GRACE_PERIOD_MILLIS + 1)
+    runCurrent()
+    assertThat(worker.stopCount).isEqualTo(1)
+  }
+
+  @Test
+  fun forKey_withSameKey_returnsSameWorkerUntilStopped() = runTest {
+    val shared = SharedRibCoroutineWorker.forKey("location") { worker }
+    assertThat(SharedRibCoroutineWorker.forKey("location") { CountingWorker() })
+      .isSameInstanceAs(shared)
+
+    bind(shared).apply { join() }.unbind().join()
+    runCurrent()
+
+    assertThat(SharedRibCoroutineWorker.forKey("location") { CountingWorker() })
+      .isNotSameInstanceAs(shared)
+  }
+
+  @Test
+  fun forKey_afterStoppedWorkerIsBoundAgain_returnsSameWorker() = runTest {
+    val shared = SharedRibCoroutineWorker.forKey("session") { worker }
+    bind(shared).apply { join() }.unbind().join()
+    runCurrent()
+
+    val handle = bind(shared).apply { join() }
+
+    assertThat(SharedRibCoroutineWorker.forKey("session") { CountingWorker() })
+      .isSameInstanceAs(shared)
+    assertThat(worker.startCount).isEqualTo(2)
+    handle.unbind().join()
+    runCurrent()
+  }
+
+  @Test
+  fun forKey_withDifferentParameters_throws() = runTest {
+    SharedRibCoroutineWorker.forKey("config", GRACE_PERIOD_MILLIS) { worker }
+
+    val error =
+      runCatching {
+        SharedRibCoroutineWorker.forKey("config", GRACE_PERIOD_MILLIS * 2) { CountingWorker() }
+      }
+
+    assertThat(error.exceptionOrNull()).isInstanceOf(IllegalArgumentException::class.java)
+  }
+
+  @Test
+  fun bind_whenWorkerFailsToStart_restartsItOnNextBinding() = runTest {
+    var failures = 1
+    val flakyWorker = RibCoroutineWorker {
+      if (failures-- > 0) throw IllegalStateException("Failed to start")
+    }
+    val shared = SharedRibCoroutineWorker(flakyWorker)
+    val failingScope = CoroutineScope(coroutineContext + SupervisorJob() + IgnoreExceptions)
+    failingScope.bind(shared).join()
+    runCurrent()
+    assertThat(shared.isRunning).isFalse()
+
+    val handle = bind(shared).apply { join() }
+
+    assertThat(handle.isCompleted).isTrue()
+    assertThat(shared.isRunning).isTrue()
+    handle.unbind().join()
+    failingScope.cancel()
+  }
+
+  @Test
+  fun bind_runsWorkerWithContextOfFirstBinding() = runTest {
+    var workerName: String? = null
+    val shared =
+      SharedRibCoroutineWorker(
+        RibCoroutineWorker { workerName = this.coroutineContext[CoroutineName]?.name },
+      )
+    val scope = CoroutineScope(coroutineContext + Job() + CoroutineName("binding"))
+
+    scope.bind(shared).join()
+
+    assertThat(workerName).isEqualTo("binding")
+    scope.cancel()
+  }
+
+  @Test
+  fun bindWithRetention_onReattachWithinGracePeriod_adoptsRunningWorker() = runTest {
+    val retentionPolicy = WorkerRetentionPolicy(GRACE_PERIOD_MILLIS)
+    val firstAttach = CoroutineScope(coroutineContext + Job())
+    firstAttach.bind(worker, retentionPolicy).join()
+    firstAttach.cancel()
+    advanceTimeBy(GRACE_PERIOD_MILLIS / 2)
+
+    val secondAttach = CoroutineScope(coroutineContext + Job())
+    secondAttach.bind(worker, retentionPolicy).join()
+    advanceTimeBy(GRACE_PERIOD_MILLIS)
+    assertThat(worker.startCount).isEqualTo(1)
+    assertThat(worker.stopCount).isEqualTo(0)
+
+    secondAttach.cancel()
+    advanceTimeBy(GRACE_PERIOD_MILLIS + 1)
+    runCurrent()
+    assertThat(worker.stopCount).isEqualTo(1)
+  }
+
+  @Test
+  fun bindWithRetention_fromDifferentOwners_startsWorkerForEach() = runTest {
+    val retentionPolicy = WorkerRetentionPolicy(GRACE_PERIOD_MILLIS)
+    val first = CoroutineScope(coroutineContext + Job() + RibCoroutineOwner("Rib", identity = 1))
+    val second = CoroutineScope(coroutineContext + Job() + RibCoroutineOwner("Rib", identity = 2))
+
+    first.bind(worker, retentionPolicy).join()
+    second.bind(worker, retentionPolicy).join()
+
+    assertThat(worker.startCount).isEqualTo(2)
+    first.cancel()
+    second.cancel()
+    advanceTimeBy(GRACE_PERIOD_MILLIS + 1)
+  }
+
+  @Test
+  fun bindWithRetention_countsRetainedWorkerInAdoptingScope() = runTest {
+    RibCoroutineAccounting.isEnabled = true
+    try {
+      val interactor = RetainingInteractor()
+      val release = CompletableDeferred<Unit>()
+      val retentionPolicy = WorkerRetentionPolicy(GRACE_PERIOD_MILLIS)
+      val retainedWorker = RibCoroutineWorker { launch { release.await() } }
+      InteractorHelper.attach(interactor, Unit, mock(), null)
+      interactor.coroutineScope.bind(retainedWorker, retentionPolicy).join()
+      InteractorHelper.detach(interactor)
+      InteractorHelper.reattach(interactor, null)
+      interactor.coroutineScope.bind(retainedWorker, retentionPolicy).join()
+      runCurrent()
+      val countBeforeRelease = activeScopeOf(interactor).activeJobCount
+
+      release.complete(Unit)
+      runCurrent()
+
+      assertThat(activeScopeOf(interactor).activeJobCount).isEqualTo(countBeforeRelease - 1)
+      InteractorHelper.detach(interactor)
+      advanceTimeBy(GRACE_PERIOD_MILLIS + 1)
+    } finally {
+      RibCoroutineAccounting.isEnabled = false
+    }
+  }
+
+  private fun activeScopeOf(owner: Any): RibScopeSnapshot =
+    RibCoroutineAccounting.snapshot().single {
+      it.ownerIdentity == System.identityHashCode(owner) && it.cancelledForMillis < 0
+    }
+
+  private class RetainingInteractor : Interactor<Unit, Router<*>>()
+
+  private class CountingWorker : RibCoroutineWorker {
+    var startCount = 0
+    var stopCount = 0
+
+    override suspend fun onStart(scope: CoroutineScope) {
+      startCount++
+    }
+
+    override fun onStop(cause: Throwable) {
+      stopCount++
+    }
+  }
+}
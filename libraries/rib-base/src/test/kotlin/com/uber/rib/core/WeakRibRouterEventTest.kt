@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import org.junit.Assert.assertThrows
+import org.junit.Test
+import org.mockito.kotlin.mock
+
+class WeakRibRouterEventTest {
+  private val metrics = RibRouterEventMetrics()
+  private val router = mock<Router<*>>()
+
+  @Test
+  fun event_keepsIdentityOfRouters() {
+    val event = newEvent(parent = null)
+
+    assertThat(event.router).isSameInstanceAs(router)
+    assertThat(event.routerClassName).isEqualTo(router.javaClass.name)
+    assertThat(event.routerIdentity).isEqualTo(System.identityHashCode(router))
+    assertThat(event.parentRouter).isNull()
+    assertThat(event.parentRouterClassName).isNull()
+  }
+
+  @Test
+  fun onDelivered_countsMissedEventsAndConsumerLag() {
+    val events = List(5) { newEvent(parent = router) }
+
+    metrics.onDelivered(events[0], previousSequenceNumber = -1L)
+    metrics.onDelivered(events[3], previousSequenceNumber = 0L)
+
+    assertThat(metrics.emittedCount).isEqualTo(5)
+    assertThat(metrics.droppedCount).isEqualTo(2)
+    assertThat(metrics.maxConsumerLag).isEqualTo(4)
+
+    metrics.resetMaxConsumerLag()
+    metrics.onDelivered(events[4], previousSequenceNumber = 3L)
+
+    assertThat(metrics.droppedCount).isEqualTo(2)
+    assertThat(metrics.maxConsumerLag).isEqualTo(0)
+  }
+
+  @Test
+  fun enableWeakRouterEvents_afterWeakRouterEventsWereCollected_throws() {
+    RibEvents.weakRouterEvents.subscribe().dispose()
+
+    assertThrows(IllegalStateException::class.java) { RibEvents.enableWeakRouterEvents() }
+  }
+
+  private fun newEvent(parent: Router<*>?) =
+    WeakRibRouterEvent(RibEventType.ATTACHED, router, parent, metrics.nextSequenceNumber())
+}
@@ -20,6 +20,7 @@ import com.jakewharton.rxrelay2.BehaviorRelay
 import com.uber.rib.core.RibEvents.ribActionEvents
 import com.uber.rib.core.RibEventsUtils.assertRibActionInfo
 import com.uber.rib.core.WorkerBinder.bind
+import com.uber.rib.core.WorkerBinder.bindAll
 import com.uber.rib.core.WorkerBinder.bindToWorkerLifecycle
 import com.uber.rib.core.WorkerBinder.mapInteractorLifecycleToWorker
 import com.uber.rib.core.WorkerBinder.mapPresenterLifecycleToWorker
@@ -28,6 +29,7 @@ import com.uber.rib.core.lifecycle.PresenterEvent
 import com.uber.rib.core.lifecycle.WorkerEvent
 import io.reactivex.observers.TestObserver
 import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineExceptionHandler
 import kotlinx.coroutines.ExperimentalCoroutinesApi
 import kotlinx.coroutines.test.advanceUntilIdle
 import kotlinx.coroutines.test.runTest
@@ -236,6 +238,70 @@ class WorkerBinderTest(private val adaptFromRibCoroutineWorker: Boolean) {
       )
   }
 
+  @Test
+  fun bindAll_shouldStartAndStopWorkersInOrder() = runTest {
+    val events = mutableListOf<String>()
+    val workers =
+      List(3) { index ->
+        object : Worker {
+          override fun onStart(lifecycle: WorkerScopeProvider) {
+            events += "start$index"
+          }
+
+          override fun onStop() {
+            events += "stop$index"
+          }
+        }
+      }
+    prepareInteractor()
+
+    val unbinder = bindAll(interactor, workers)
+    advanceUntilIdle()
+    unbinder.unbind()
+    advanceUntilIdle()
+
+    assertThat(events)
+      .containsExactly("start0", "start1", "start2", "stop0", "stop1", "stop2")
+      .inOrder()
+  }
+
+  @Test
+  fun bindAll_whenOneWorkerThrows_shouldStillStartAndStopTheOthers() = runTest {
+    val events = mutableListOf<String>()
+    val errors = mutableListOf<Throwable>()
+    val bindingContext =
+      RibDispatchers.Unconfined + CoroutineExceptionHandler { _, error -> errors += error }
+    val scopes = mutableListOf<WorkerScopeProvider>()
+    val workers =
+      List(3) { index ->
+        object : Worker {
+          override val coroutineContext = bindingContext
+
+          override fun onStart(lifecycle: WorkerScopeProvider) {
+            scopes += lifecycle
+            events += "start$index"
+            if (index == 1) throw IllegalStateException("start$index")
+          }
+
+          override fun onStop() {
+            events += "stop$index"
+          }
+        }
+      }
+    prepareInteractor()
+
+    bindAll(interactor, workers)
+    advanceUntilIdle()
+
+    assertThat(events)
+      .containsExactly("start0", "start1", "start2", "stop0", "stop1", "stop2")
+      .inOrder()
+    assertThat(errors.single()).hasMessageThat().isEqualTo("start1")
+    val scopeObserver = TestObserver<Any>()
+    scopes.first().requestScope().subscribe(scopeObserver)
+    scopeObserver.assertComplete()
+  }
+
   private fun bindFakeWorker(): WorkerUnbinder {
     prepareInteractor()
     return bind(interactor, fakeWorker)
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+plugins {
+    id("ribs.kotlin.library")
+    alias(libs.plugins.jmh)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // Reports allocation rate (gc.alloc.rate / gc.alloc.rate.norm) next to throughput.
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
+
+dependencies {
+    jmhImplementation(project(":libraries:rib-base"))
+    // Router and Interactor reference android.os types; the stubs are enough as long as
+    // benchmarks never touch a real Bundle or Looper.
+    jmhImplementation(libs.android.api)
+}
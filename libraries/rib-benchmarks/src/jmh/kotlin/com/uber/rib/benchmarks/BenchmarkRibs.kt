@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.benchmarks
+
+import com.uber.rib.core.Bundle
+import com.uber.rib.core.Interactor
+import com.uber.rib.core.Presenter
+import com.uber.rib.core.RibEvents
+import com.uber.rib.core.RibRefWatcher
+import com.uber.rib.core.Router
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Setup
+
+/**
+ * Base state for all benchmarks, toggling the global [RibEvents] switches.
+ *
+ * [RibEvents.enableRibActionEmissions] cannot be turned off again once enabled, so benchmarks
+ * relying on this state must run forked: JMH uses a fresh JVM for every parameter combination.
+ */
+public abstract class RibEventsState {
+  @JvmField @Param("false", "true") public var ribActionEmissions: Boolean = false
+
+  @Setup(Level.Trial)
+  public fun configureRibEvents() {
+    if (ribActionEmissions) {
+      RibEvents.enableRibActionEmissions()
+    }
+  }
+}
+
+internal class BenchmarkPresenter : Presenter()
+
+internal class BenchmarkInteractor :
+  Interactor<BenchmarkPresenter, BenchmarkRouter>(BenchmarkPresenter()) {
+  override fun didBecomeActive(savedInstanceState: Bundle?) {
+    super.didBecomeActive(savedInstanceState)
+    // Mimics a real RIB, which attaches its children once it becomes active.
+    router.attachSubtree()
+  }
+}
+
+/**
+ * A [Router] that re-attaches the same [subtree] routers every time it becomes active, so the
+ * benchmarks measure attach/detach cost without measuring router construction.
+ */
+internal class BenchmarkRouter(
+  private val subtree: List<BenchmarkRouter>,
+  mainThread: Thread,
+) : Router<BenchmarkInteractor>(null, BenchmarkInteractor(), RibRefWatcher(), mainThread) {
+
+  fun attachSubtree() {
+    for (child in subtree) {
+      attachChild(child)
+    }
+  }
+}
+
+/** Tree shapes used as benchmark parameters, in the `<width>x<depth>` format. */
+internal object TreeShape {
+  /** A single level with many children, e.g. a home screen attaching its features at once. */
+  const val WIDE = "50x1"
+
+  /** A long chain of single children. */
+  const val DEEP = "1x20"
+
+  /** A balanced tree of 341 routers. */
+  const val BUSHY = "4x4"
+
+  fun build(shape: String): BenchmarkRouter {
+    val (width, depth) = shape.split('x').map(String::toInt)
+    return buildTree(width, depth)
+  }
+}
+
+/**
+ * Builds a tree in which every router has [width] children, [depth] levels below the returned
+ * root. All routers consider the calling thread as their main thread.
+ */
+internal fun buildTree(
+  width: Int,
+  depth: Int,
+  mainThread: Thread = Thread.currentThread(),
+): BenchmarkRouter {
+  val subtree =
+    if (depth == 0) emptyList() else List(width) { buildTree(width, depth - 1, mainThread) }
+  return BenchmarkRouter(subtree, mainThread)
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.benchmarks
+
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+
+/**
+ * Measures a full [com.uber.rib.core.Interactor.dispatchAttach] and
+ * [com.uber.rib.core.Interactor.dispatchDetach] cycle of a leaf interactor and its presenter.
+ *
+ * A single cycle is too short for per-invocation fixtures, so attach and detach are measured
+ * together.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public open class InteractorDispatchBenchmark : RibEventsState() {
+  private lateinit var interactor: BenchmarkInteractor
+
+  @Setup(Level.Trial)
+  public fun setUpInteractor() {
+    interactor = buildTree(width = 0, depth = 0).interactor
+  }
+
+  @Benchmark
+  public fun interactorDispatchAttachAndDetach(): Any {
+    interactor.dispatchAttach(null)
+    return interactor.dispatchDetach()
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.benchmarks
+
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+
+/**
+ * An attached root router and a detached subtree of the given [TreeShape].
+ *
+ * Every invocation attaches (or detaches) the full subtree, which takes long enough for
+ * [Level.Invocation] fixtures not to skew the results.
+ */
+public abstract class AttachedRootState : RibEventsState() {
+  @JvmField @Param(TreeShape.WIDE, TreeShape.DEEP, TreeShape.BUSHY) public var shape: String = ""
+
+  internal lateinit var root: BenchmarkRouter
+  internal lateinit var subtree: BenchmarkRouter
+  internal var isSubtreeAttached = false
+
+  @Setup(Level.Trial)
+  public fun setUpTree() {
+    root = buildTree(width = 0, depth = 0)
+    root.dispatchAttach(null)
+    subtree = TreeShape.build(shape)
+  }
+
+  @TearDown(Level.Trial)
+  public fun tearDownTree() {
+    root.dispatchDetach()
+  }
+
+  internal fun attachSubtree() {
+    root.attachChild(subtree)
+    isSubtreeAttached = true
+  }
+
+  internal fun detachSubtree() {
+    root.detachChild(subtree)
+    isSubtreeAttached = false
+  }
+}
+
+/** Measures [com.uber.rib.core.Router.attachChild] of a whole subtree. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public open class RouterAttachBenchmark : AttachedRootState() {
+  @Setup(Level.Invocation)
+  public fun ensureDetached() {
+    if (isSubtreeAttached) {
+      detachSubtree()
+    }
+  }
+
+  @Benchmark
+  public fun attachChild() {
+    attachSubtree()
+  }
+}
+
+/** Measures [com.uber.rib.core.Router.detachChild] of a whole subtree. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public open class RouterDetachBenchmark : AttachedRootState() {
+  @Setup(Level.Invocation)
+  public fun ensureAttached() {
+    if (!isSubtreeAttached) {
+      attachSubtree()
+    }
+  }
+
+  @Benchmark
+  public fun detachChild() {
+    detachSubtree()
+  }
+}
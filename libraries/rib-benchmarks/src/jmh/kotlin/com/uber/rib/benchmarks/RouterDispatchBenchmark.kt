@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.benchmarks
+
+import java.util.concurrent.TimeUnit
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+
+/**
+ * A root router of the given [TreeShape] that is not attached to any parent, the way `RibActivity`
+ * holds the root RIB.
+ */
+public abstract class RootTreeState : RibEventsState() {
+  @JvmField @Param(TreeShape.WIDE, TreeShape.DEEP, TreeShape.BUSHY) public var shape: String = ""
+
+  internal lateinit var root: BenchmarkRouter
+  internal var isAttached = false
+
+  @Setup(Level.Trial)
+  public fun setUpTree() {
+    root = TreeShape.build(shape)
+  }
+
+  internal fun dispatchAttach() {
+    root.dispatchAttach(null)
+    isAttached = true
+  }
+
+  internal fun dispatchDetach() {
+    root.dispatchDetach()
+    isAttached = false
+  }
+}
+
+/** Measures [com.uber.rib.core.Router.dispatchAttach] of a root router and its whole tree. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public open class RouterDispatchAttachBenchmark : RootTreeState() {
+  @Setup(Level.Invocation)
+  public fun ensureDetached() {
+    if (isAttached) {
+      dispatchDetach()
+    }
+  }
+
+  @Benchmark
+  public fun routerDispatchAttach() {
+    dispatchAttach()
+  }
+}
+
+/** Measures [com.uber.rib.core.Router.dispatchDetach] of a root router and its whole tree. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public open class RouterDispatchDetachBenchmark : RootTreeState() {
+  @Setup(Level.Invocation)
+  public fun ensureAttached() {
+    if (!isAttached) {
+      dispatchAttach()
+    }
+  }
+
+  @Benchmark
+  public fun routerDispatchDetach() {
+    dispatchDetach()
+  }
+}
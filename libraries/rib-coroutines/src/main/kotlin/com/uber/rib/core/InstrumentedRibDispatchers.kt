@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.uber.rib.core.internal.CoroutinesFriendModuleApi
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.AtomicLongArray
+import kotlin.coroutines.AbstractCoroutineContextElement
+import kotlin.coroutines.CoroutineContext
+import kotlin.math.ceil
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.MainCoroutineDispatcher
+import kotlinx.coroutines.Runnable
+
+/**
+ * Names the RIB component that coroutines run on behalf of, so that [InstrumentedRibDispatchers]
+ * can attribute their tasks. RIB `coroutineScope`s and workers bound with `bind` install it.
+ *
+ * @property name the owner name tasks are aggregated by.
+ * @property identity identity hash code of the RIB component instance, or `0` if unknown. Tells
+ *   apart instances sharing the same [name].
+ * @property account the [RibScopeAccount] of the scope of the RIB component, if tracked by
+ *   [RibCoroutineAccounting].
+ */
+public class RibCoroutineOwner
+@CoroutinesFriendModuleApi
+constructor(
+  public val name: String,
+  public val identity: Int,
+  @property:CoroutinesFriendModuleApi public val account: RibScopeAccount?,
+) : AbstractCoroutineContextElement(Key) {
+  @OptIn(CoroutinesFriendModuleApi::class)
+  @JvmOverloads
+  public constructor(name: String, identity: Int = 0) : this(name, identity, account = null)
+
+  override fun toString(): String = "RibCoroutineOwner($name)"
+
+  public companion object Key : CoroutineContext.Key<RibCoroutineOwner>
+}
+
+/**
+ * A [RibDispatchersProvider] that records, for every task dispatched to [Default], [IO] and [Main],
+ * how long it waited to start and how long it ran, aggregated per [RibCoroutineOwner].
+ *
+ * Install it with `RibCoroutinesConfig.dispatchers = InstrumentedRibDispatchers()` and read the
+ * results with [taskStats]. [Unconfined] does not queue tasks and is not instrumented. Delays are
+ * scheduled on the default executor of kotlinx.coroutines, and resumed through these dispatchers.
+ *
+ * @param delegate the dispatchers to instrument.
+ * @param listener notified around every instrumented task, on the thread running it.
+ */
+public class InstrumentedRibDispatchers
+@JvmOverloads
+constructor(
+  delegate: RibDispatchersProvider = DefaultRibDispatchers(),
+  private val listener: RibTaskListener? = null,
+) : RibDispatchersProvider {
+  override val Default: CoroutineDispatcher = InstrumentedDispatcher("Default", delegate.Default)
+  override val IO: CoroutineDispatcher = InstrumentedDispatcher("IO", delegate.IO)
+  override val Main: MainCoroutineDispatcher by lazy { InstrumentedMainDispatcher(delegate.Main) }
+  override val Unconfined: CoroutineDispatcher = delegate.Unconfined
+
+  private val stats = ConcurrentHashMap<String, ConcurrentHashMap<String, RibTaskStats>>()
+
+  /**
+   * Returns a copy of the task statistics recorded so far, by dispatcher name and then by owner
+   * name. Owners seen later are not added to it, but the returned [RibTaskStats] keep recording.
+   */
+  public fun taskStats(): Map<String, Map<String, RibTaskStats>> =
+    stats.mapValues { (_, byOwner) -> HashMap(byOwner) }
+
+  /** Clears all recorded statistics. */
+  public fun reset() {
+    stats.clear()
+  }
+
+  private fun statsOf(dispatcherName: String, ownerName: String): RibTaskStats {
+    val byOwner =
+      stats[dispatcherName] ?: stats.getOrPut(dispatcherName) { ConcurrentHashMap() }
+    return byOwner[ownerName] ?: byOwner.getOrPut(ownerName) { RibTaskStats() }
+  }
+
+  private fun dispatchInstrumented(
+    dispatcherName: String,
+    delegate: CoroutineDispatcher,
+    context: CoroutineContext,
+    block: Runnable,
+  ) {
+    val ownerName = context[RibCoroutineOwner]?.name ?: UNATTRIBUTED
+    val taskStats = statsOf(dispatcherName, ownerName)
+    val enqueuedNanos = System.nanoTime()
+    delegate.dispatch(
+      context,
+      Runnable {
+        val startNanos = System.nanoTime()
+        val queueLatencyNanos = startNanos - enqueuedNanos
+        taskStats.queueLatency.record(queueLatencyNanos)
+        listener?.onTaskStarted(dispatcherName, ownerName)
+        try {
+          block.run()
+        } finally {
+          val runTimeNanos = System.nanoTime() - startNanos
+          taskStats.runTime.record(runTimeNanos)
+          listener?.onTaskEnded(dispatcherName, ownerName, queueLatencyNanos, runTimeNanos)
+        }
+      },
+    )
+  }
+
+  private inner class InstrumentedDispatcher(
+    private val name: String,
+    private val delegate: CoroutineDispatcher,
+  ) : CoroutineDispatcher() {
+    override fun isDispatchNeeded(context: CoroutineContext): Boolean =
+      delegate.isDispatchNeeded(context)
+
+    override fun dispatch(context: CoroutineContext, block: Runnable) {
+      dispatchInstrumented(name, delegate, context, block)
+    }
+
+    override fun toString(): String = "Instrumented($delegate)"
+  }
+
+  private inner class InstrumentedMainDispatcher(
+    private val delegate: MainCoroutineDispatcher,
+  ) : MainCoroutineDispatcher() {
+    override val immediate: MainCoroutineDispatcher
+      get() = if (delegate.immediate === delegate) this else immediateDispatcher
+
+    private val immediateDispatcher by lazy {
+      InstrumentedMainDispatcher(delegate.immediate)
+    }
+
+    override fun isDispatchNeeded(context: CoroutineContext): Boolean =
+      delegate.isDispatchNeeded(context)
+
+    override fun dispatch(context: CoroutineContext, block: Runnable) {
+      dispatchInstrumented(MAIN, delegate, context, block)
+    }
+
+    override fun toString(): String = "Instrumented($delegate)"
+  }
+
+  public companion object {
+    /** Owner name of tasks dispatched without a [RibCoroutineOwner]. */
+    public const val UNATTRIBUTED: String = "unattributed"
+
+    private const val MAIN = "Main"
+  }
+}
+
+/** Listener of the tasks run by [InstrumentedRibDispatchers]. */
+public interface RibTaskListener {
+  /** Called on the thread about to run a task of [ownerName] dispatched to [dispatcherName]. */
+  public fun onTaskStarted(dispatcherName: String, ownerName: String) {}
+
+  /** Called on the thread that ran a task, right after it ran, including when it threw. */
+  public fun onTaskEnded(
+    dispatcherName: String,
+    ownerName: String,
+    queueLatencyNanos: Long,
+    runTimeNanos: Long,
+  )
+}
+
+/** Queue latency and run time of the tasks of one owner on one dispatcher. */
+public class RibTaskStats internal constructor() {
+  /** Time between a task being dispatched and it starting to run. */
+  public val queueLatency: RibTaskHistogram = RibTaskHistogram()
+
+  /** Time a task ran for, i.e. until the coroutine suspended or completed. */
+  public val runTime: RibTaskHistogram = RibTaskHistogram()
+
+  override fun toString(): String = "RibTaskStats(queueLatency=$queueLatency, runTime=$runTime)"
+}
+
+/**
+ * A lock-free histogram of durations with power-of-two microsecond buckets: bucket `i` counts
+ * durations below `2^i` microseconds that do not fit in bucket `i - 1`. The last bucket also counts
+ * all longer durations.
+ */
+public class RibTaskHistogram internal constructor() {
+  private val buckets = AtomicLongArray(BUCKET_COUNT)
+  private val total = AtomicLong()
+
+  /** Number of recorded durations. */
+  public val count: Long
+    get() = (0 until BUCKET_COUNT).sumOf { buckets.get(it) }
+
+  /** Sum of all recorded durations, in nanoseconds. */
+  public val totalNanos: Long
+    get() = total.get()
+
+  internal fun record(durationNanos: Long) {
+    val micros = durationNanos / NANOS_PER_MICRO
+    val index = if (micros <= 0) 0 else Long.SIZE_BITS - micros.countLeadingZeroBits()
+    buckets.incrementAndGet(minOf(index, BUCKET_COUNT - 1))
+    total.addAndGet(durationNanos)
+  }
+
+  /** Returns the count of each bucket. */
+  public fun bucketCounts(): LongArray = LongArray(BUCKET_COUNT) { buckets.get(it) }
+
+  /**
+   * Returns an upper bound, in microseconds, of the [percentile] (between 0 and 1) of recorded
+   * durations, or 0 if nothing was recorded.
+   */
+  public fun percentileMicros(percentile: Double): Long {
+    val counts = bucketCounts()
+    val target = ceil(counts.sum() * percentile).toLong().coerceAtLeast(1L)
+    var seen = 0L
+    for (index in counts.indices) {
+      seen += counts[index]
+      if (seen >= target) return bucketUpperBoundMicros(index)
+    }
+    return 0L
+  }
+
+  override fun toString(): String =
+    "RibTaskHistogram(count=$count, p50=${percentileMicros(0.5)}us, " +
+      "p99=${percentileMicros(0.99)}us)"
+
+  public companion object {
+    /** Number of buckets, the last one starting at about 4 seconds. */
+    public const val BUCKET_COUNT: Int = 24
+
+    private const val NANOS_PER_MICRO = 1_000L
+
+    /** Returns the exclusive upper bound of bucket [index], in microseconds. */
+    @JvmStatic public fun bucketUpperBoundMicros(index: Int): Long = 1L shl index
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.uber.autodispose.ScopeProvider
+import com.uber.autodispose.lifecycle.LifecycleEndedException
+import com.uber.autodispose.lifecycle.LifecycleNotStartedException
+import com.uber.rib.core.internal.CoroutinesFriendModuleApi
+import io.reactivex.CompletableSource
+import io.reactivex.subjects.CompletableSubject
+import kotlinx.coroutines.CompletableJob
+import kotlinx.coroutines.Job
+
+/**
+ * Implemented by [ScopeProvider]s that can hand out a [Job] cancelled directly when their scope
+ * ends. [coroutineScope] then becomes a child of that [Job] instead of subscribing to
+ * [ScopeProvider.requestScope].
+ */
+@CoroutinesFriendModuleApi
+public interface LifecycleJobProvider {
+  /**
+   * @return a [Job] that is cancelled when the current scope ends.
+   * @throws LifecycleNotStartedException if the lifecycle has not started.
+   * @throws LifecycleEndedException if the lifecycle has ended.
+   */
+  public fun lifecycleJob(): Job
+}
+
+/**
+ * Registry of the scopes of a lifecycle, keyed by the event that ends them. Each end event gets at
+ * most one [Job] and one [CompletableSource], created when first requested and shared by every
+ * requester. Both end as soon as that event (or a later one) is reported through
+ * [onLifecycleEvent].
+ */
+@CoroutinesFriendModuleApi
+public class LifecycleJobs<T : Comparable<T>> {
+  private class ScopeEnd<T>(val event: T) {
+    var job: CompletableJob? = null
+    var subject: CompletableSubject? = null
+    var scope: CompletableSource? = null
+  }
+
+  // Guarded by `this`.
+  private var lastEvent: T? = null
+  private val scopeEnds = ArrayList<ScopeEnd<T>>(1)
+
+  /**
+   * @return the [Job] cancelled when the lifecycle reaches [ClosedRange.endInclusive] of [range].
+   * @throws LifecycleNotStartedException if no event in [range] has been reported yet.
+   * @throws LifecycleEndedException if the lifecycle is past [range].
+   */
+  public fun jobUntil(range: ClosedRange<T>): Job =
+    synchronized(this) {
+      val end = scopeEndLocked(range)
+      end.job ?: Job().also { end.job = it }
+    }
+
+  /**
+   * @return the [CompletableSource] completed when the lifecycle reaches
+   *   [ClosedRange.endInclusive] of [range].
+   * @throws LifecycleNotStartedException if no event in [range] has been reported yet.
+   * @throws LifecycleEndedException if the lifecycle is past [range].
+   */
+  public fun completableUntil(range: ClosedRange<T>): CompletableSource =
+    synchronized(this) {
+      val end = scopeEndLocked(range)
+      end.scope
+        ?: CompletableSubject.create().let { subject ->
+          end.subject = subject
+          subject.hide().also { end.scope = it }
+        }
+    }
+
+  private fun scopeEndLocked(range: ClosedRange<T>): ScopeEnd<T> {
+    val last = lastEvent
+    when {
+      last == null || last < range.start -> throw LifecycleNotStartedException()
+      last >= range.endInclusive -> throw LifecycleEndedException()
+    }
+    for (end in scopeEnds) {
+      if (end.event.compareTo(range.endInclusive) == 0) {
+        return end
+      }
+    }
+    return ScopeEnd(range.endInclusive).also { scopeEnds.add(it) }
+  }
+
+  /** To be called right after the lifecycle emitted [event]. */
+  public fun onLifecycleEvent(event: T) {
+    var endedScopes: MutableList<ScopeEnd<T>>? = null
+    synchronized(this) {
+      lastEvent = event
+      for (i in scopeEnds.indices.reversed()) {
+        if (event >= scopeEnds[i].event) {
+          endedScopes = (endedScopes ?: ArrayList(scopeEnds.size)).apply { add(scopeEnds[i]) }
+          scopeEnds.removeAt(i)
+        }
+      }
+    }
+    // End outside the lock: completion and cancellation handlers run synchronously.
+    endedScopes?.forEach {
+      it.subject?.onComplete()
+      it.job?.cancel()
+    }
+  }
+}
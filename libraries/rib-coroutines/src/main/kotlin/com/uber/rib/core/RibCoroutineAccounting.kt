@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.uber.rib.core.internal.CoroutinesFriendModuleApi
+import java.lang.ref.WeakReference
+import java.util.Collections
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+import kotlinx.coroutines.DisposableHandle
+import kotlinx.coroutines.InternalCoroutinesApi
+import kotlinx.coroutines.Job
+
+/**
+ * Keeps track of the `coroutineScope`s created for RIB components, so that the coroutines they run
+ * can be counted, and scopes outliving the lifecycle of their owner can be found.
+ *
+ * When enabled, the [RibCoroutineOwner] of each scope carries a [RibScopeAccount], inherited by
+ * every coroutine launched in it, including the ones of the workers bound to it. Coroutines are not
+ * counted as they start and complete, which would require hooking every coroutine builder:
+ * [snapshot] walks the job tree of each scope instead, and nothing is walked unless a snapshot is
+ * requested or a cancelled scope is checked for lingering coroutines.
+ */
+public object RibCoroutineAccounting {
+  private val accounts: MutableSet<RibScopeAccount> =
+    Collections.newSetFromMap(ConcurrentHashMap())
+
+  /** Whether scopes created from now on are tracked. Defaults to `false`. */
+  @JvmStatic @Volatile public var isEnabled: Boolean = false
+
+  /** Notified when a tracked scope outlives its owner's lifecycle by [lingerMillis]. */
+  @JvmStatic @Volatile public var listener: RibScopeListener? = null
+
+  /** How long coroutines may keep running after their scope was cancelled before being flagged. */
+  @JvmStatic @Volatile public var lingerMillis: Long = 1_000L
+
+  /** Returns the state of all tracked scopes that have not completed yet. */
+  @JvmStatic
+  public fun snapshot(): List<RibScopeSnapshot> = accounts.map { it.snapshot() }
+
+  /** Returns the tracked scopes still running coroutines more than [lingerMillis] after cancel. */
+  @JvmStatic
+  public fun lingeringScopes(): List<RibScopeSnapshot> =
+    snapshot().filter { it.cancelledForMillis > lingerMillis }
+
+  private val lingerChecker: ScheduledExecutorService by lazy {
+    Executors.newSingleThreadScheduledExecutor { runnable ->
+      Thread(runnable, "RibCoroutineAccounting").apply { isDaemon = true }
+    }
+  }
+
+  /** Returns the account to track the scope of [owner] with [job], if enabled. */
+  internal fun track(owner: Any, job: Job): RibScopeAccount? =
+    if (isEnabled) RibScopeAccount(owner, job).also { it.register() } else null
+
+  @OptIn(InternalCoroutinesApi::class)
+  private fun RibScopeAccount.register() {
+    accounts.add(this)
+    var lingerCheck: ScheduledFuture<*>? = null
+    job.invokeOnCompletion(onCancelling = true, invokeImmediately = true) {
+      onCancelled()
+      lingerCheck =
+        lingerChecker.schedule({ checkLingering() }, lingerMillis, TimeUnit.MILLISECONDS)
+    }
+    job.invokeOnCompletion {
+      accounts.remove(this@register)
+      lingerCheck?.cancel(false)
+    }
+  }
+
+  private fun RibScopeAccount.checkLingering() {
+    if (job.isCompleted) return
+    val snapshot = snapshot()
+    if (snapshot.hasOutlivedLifecycle) {
+      listener?.onScopeOutlivedLifecycle(snapshot)
+    }
+  }
+}
+
+/** Tracks the scope of a RIB component, carried by the [RibCoroutineOwner] of its coroutines. */
+public class RibScopeAccount
+internal constructor(
+  owner: Any,
+  internal val job: Job,
+) {
+  private val ownerReference = WeakReference(owner)
+  @Volatile private var cancelledAtNanos = -1L
+  private val attributedJobs: MutableSet<Job> = Collections.newSetFromMap(ConcurrentHashMap())
+
+  /** Class name of the owner of the scope. */
+  public val ownerClassName: String = owner.javaClass.name
+
+  /** Identity hash code of the owner of the scope, to tell apart instances of the same class. */
+  public val ownerIdentity: Int = System.identityHashCode(owner)
+
+  /** The owner of the scope, or null once it has been garbage collected. */
+  public val owner: Any?
+    get() = ownerReference.get()
+
+  /**
+   * Counts the coroutines of [job] in this scope until [job] completes or the returned handle is
+   * disposed. This is for work running on behalf of the scope outside of its job tree, like a
+   * shared worker that outlives its bindings.
+   */
+  @CoroutinesFriendModuleApi
+  public fun attribute(job: Job): DisposableHandle {
+    attributedJobs.add(job)
+    val completionHandle = job.invokeOnCompletion { attributedJobs.remove(job) }
+    return DisposableHandle {
+      completionHandle.dispose()
+      attributedJobs.remove(job)
+    }
+  }
+
+  internal fun onCancelled() {
+    cancelledAtNanos = System.nanoTime()
+  }
+
+  /**
+   * Returns the current state of the scope. Walks the job tree of the scope, so its cost grows with
+   * the number of coroutines in it: meant for diagnostics rather than frequent polling.
+   */
+  public fun snapshot(): RibScopeSnapshot {
+    val cancelledAt = cancelledAtNanos
+    val cancelledForNanos = if (cancelledAt < 0) -1L else System.nanoTime() - cancelledAt
+    return RibScopeSnapshot(
+      ownerClassName = ownerClassName,
+      ownerIdentity = ownerIdentity,
+      activeJobCount =
+        job.children.sumOf { it.countActiveJobs() } +
+          attributedJobs.sumOf { it.countActiveJobs() },
+      cancelledForMillis =
+        if (cancelledForNanos < 0) -1L else TimeUnit.NANOSECONDS.toMillis(cancelledForNanos),
+    )
+  }
+
+  private fun Job.countActiveJobs(): Int =
+    (if (isCompleted) 0 else 1) + children.sumOf { it.countActiveJobs() }
+
+  override fun toString(): String = "RibScopeAccount($ownerClassName@$ownerIdentity)"
+}
+
+/**
+ * State of a tracked scope.
+ *
+ * @property ownerClassName class name of the RIB component owning the scope.
+ * @property ownerIdentity identity hash code of the owner.
+ * @property activeJobCount number of coroutines not completed yet in the scope, at any depth.
+ * @property cancelledForMillis time since the scope was cancelled, or `-1` if it was not.
+ */
+public data class RibScopeSnapshot(
+  val ownerClassName: String,
+  val ownerIdentity: Int,
+  val activeJobCount: Int,
+  val cancelledForMillis: Long,
+) {
+  /** Whether coroutines are still running in the scope after it was cancelled. */
+  val hasOutlivedLifecycle: Boolean
+    get() = cancelledForMillis >= 0 && activeJobCount > 0
+}
+
+/** Listener for scopes tracked by [RibCoroutineAccounting]. */
+public fun interface RibScopeListener {
+  /**
+   * Called once per scope if coroutines are still running in it
+   * [RibCoroutineAccounting.lingerMillis] after it was cancelled, on a background thread. Scopes
+   * still lingering can be found with [RibCoroutineAccounting.lingeringScopes].
+   */
+  public fun onScopeOutlivedLifecycle(snapshot: RibScopeSnapshot)
+}
@@ -22,11 +22,13 @@ import com.uber.rib.core.internal.CoroutinesFriendModuleApi
 import io.reactivex.CompletableObserver
 import io.reactivex.disposables.Disposable
 import java.util.WeakHashMap
+import java.util.concurrent.atomic.AtomicReference
 import kotlin.coroutines.CoroutineContext
 import kotlin.coroutines.EmptyCoroutineContext
 import kotlin.reflect.KProperty
 import kotlinx.coroutines.CoroutineName
 import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.SupervisorJob
 import kotlinx.coroutines.cancel
 import kotlinx.coroutines.job
@@ -46,11 +48,15 @@ import kotlinx.coroutines.job
  */
 @OptIn(CoroutinesFriendModuleApi::class)
 public val ScopeProvider.coroutineScope: CoroutineScope by LazyCoroutineScope {
-  val context = createCoroutineContext()
   try {
-    ScopeProviderCoroutineScope(this, context)
+    if (this is LifecycleJobProvider) {
+      CoroutineScope(createCoroutineContext(parent = lifecycleJob()))
+    } else {
+      ScopeProviderCoroutineScope(this, createCoroutineContext())
+    }
   } catch (e: LifecycleEndedException) {
     if (RibCoroutinesConfig.shouldCoroutineScopeFailSilentlyOnLifecycleEnded) {
+      val context = createCoroutineContext()
       CoroutineScope(context).also {
         it.cancel("ScopeProvider is outside of scope. context = $context", e)
       }
@@ -72,11 +78,20 @@ public val Application.coroutineScope: CoroutineScope by LazyCoroutineScope {
   CoroutineScope(createCoroutineContext())
 }
 
-private fun Any.createCoroutineContext() =
-  SupervisorJob() +
+@OptIn(CoroutinesFriendModuleApi::class)
+private fun Any.createCoroutineContext(parent: Job? = null): CoroutineContext {
+  val job = SupervisorJob(parent)
+  return job +
     RibDispatchers.Main.immediate +
     CoroutineName("${this::class.simpleName}:coroutineScope") +
-    (RibCoroutinesConfig.exceptionHandler ?: EmptyCoroutineContext)
+    RibCoroutineOwner(
+      javaClass.name,
+      System.identityHashCode(this),
+      RibCoroutineAccounting.track(this, job),
+    ) +
+    (RibCoroutinesConfig.exceptionHandler ?: EmptyCoroutineContext) +
+    ((this as? RibSubtreeDispatchersHolder)?.subtreeDispatchers ?: EmptyCoroutineContext)
+}
 
 private class ScopeProviderCoroutineScope(
   scopeProvider: ScopeProvider,
@@ -103,25 +118,92 @@ private class ScopeProviderCoroutineScope(
   }
 }
 
+/**
+ * Implemented by RIB components (e.g. `Interactor`, `Presenter` and `RibActivity`) that store their
+ * [coroutineScope] in a field. Reading the scope is then lock-free and does not go through the
+ * weak map used for arbitrary [ScopeProvider]s.
+ */
+@CoroutinesFriendModuleApi
+public interface CoroutineScopeHolder {
+  /** Holds the lazily created [coroutineScope]. */
+  public val coroutineScopeSlot: CoroutineScopeSlot
+}
+
+/**
+ * Where a [CoroutineScopeHolder] stores its [coroutineScope]. Its contents are only accessible to
+ * [LazyCoroutineScope], and using the type requires opting in, so the public overrides of
+ * [CoroutineScopeHolder.coroutineScopeSlot] cannot be used to read or replace the scope.
+ */
+@CoroutinesFriendModuleApi
+public class CoroutineScopeSlot {
+  /** The scope, or null before first access. */
+  internal val reference: AtomicReference<CoroutineScope?> = AtomicReference()
+}
+
 @CoroutinesFriendModuleApi
 public class LazyCoroutineScope<This : Any>(private val initializer: This.() -> CoroutineScope) {
   public companion object {
-    private val values = WeakHashMap<Any, CoroutineScope>()
+    private const val STRIPE_COUNT = 16
+
+    // Fallback for providers that are not a CoroutineScopeHolder. Each stripe is guarded by itself.
+    private val stripes = Array(STRIPE_COUNT) { WeakHashMap<Any, CoroutineScope>() }
+
+    private fun stripeOf(provider: Any): WeakHashMap<Any, CoroutineScope> =
+      stripes[(provider.hashCode() and Int.MAX_VALUE) % STRIPE_COUNT]
 
     // Used to get and set Test overrides from rib-coroutines-test utils
-    public operator fun get(provider: Any): CoroutineScope? = values[provider]
+    public operator fun get(provider: Any): CoroutineScope? =
+      if (provider is CoroutineScopeHolder) {
+        provider.coroutineScopeSlot.reference.get()
+      } else {
+        val stripe = stripeOf(provider)
+        synchronized(stripe) { stripe[provider] }
+      }
+
     public operator fun set(provider: Any, scope: CoroutineScope?) {
-      values[provider] = scope
+      if (provider is CoroutineScopeHolder) {
+        provider.coroutineScopeSlot.reference.set(scope)
+      } else {
+        val stripe = stripeOf(provider)
+        synchronized(stripe) { stripe[provider] = scope }
+      }
     }
   }
+
   public operator fun getValue(thisRef: This, property: KProperty<*>): CoroutineScope =
-    synchronized(LazyCoroutineScope) {
-      return values.getOrPut(thisRef) {
-        thisRef.initializer().apply {
-          coroutineContext.job.invokeOnCompletion {
-            synchronized(LazyCoroutineScope) { values.remove(thisRef) }
+    if (thisRef is CoroutineScopeHolder) {
+      val reference = thisRef.coroutineScopeSlot.reference
+      reference.get() ?: getOrCreate(thisRef, reference)
+    } else {
+      val stripe = stripeOf(thisRef)
+      synchronized(stripe) {
+        stripe.getOrPut(thisRef) {
+          thisRef.initializer().apply {
+            coroutineContext.job.invokeOnCompletion {
+              synchronized(stripe) { stripe.remove(thisRef) }
+            }
           }
         }
       }
     }
+
+  private fun getOrCreate(
+    thisRef: This,
+    reference: AtomicReference<CoroutineScope?>,
+  ): CoroutineScope {
+    while (true) {
+      reference.get()?.let {
+        return it
+      }
+      val scope = thisRef.initializer()
+      // Registered before publishing, so a scope that is already cancelled stays cached, as it
+      // does for the weak map.
+      scope.coroutineContext.job.invokeOnCompletion { reference.compareAndSet(scope, null) }
+      if (reference.compareAndSet(null, scope)) {
+        return scope
+      }
+      // Lost the race against another thread: drop the extra scope and read the winner's.
+      scope.cancel()
+    }
+  }
 }
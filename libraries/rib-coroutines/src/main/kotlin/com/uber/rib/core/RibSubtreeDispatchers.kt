@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.uber.rib.core.internal.CoroutinesFriendModuleApi
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.coroutines.AbstractCoroutineContextElement
+import kotlin.coroutines.ContinuationInterceptor
+import kotlin.coroutines.CoroutineContext
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Runnable
+
+/**
+ * Views of [RibDispatchers.IO] and [RibDispatchers.Default] with bounded parallelism, shared by the
+ * RIBs of a router subtree.
+ *
+ * Once assigned to a router's `subtreeDispatchers`, it is inherited by routers attached below it
+ * and added to the `coroutineScope` of their interactors. Workers bound to those scopes with
+ * [RibDispatchers.IO] or [RibDispatchers.Default] then run on [IO] and [Default] instead, so a
+ * single feature cannot starve the global pools. Contention can be inspected through the
+ * [RibMeteredDispatcher] metrics.
+ *
+ * @param name the name of the subtree, used to name the dispatchers.
+ * @param ioParallelism the maximum number of tasks running in parallel on [IO].
+ * @param defaultParallelism the maximum number of tasks running in parallel on [Default].
+ */
+public class RibSubtreeDispatchers
+@JvmOverloads
+constructor(
+  public val name: String,
+  private val ioParallelism: Int = DEFAULT_IO_PARALLELISM,
+  private val defaultParallelism: Int = DEFAULT_PARALLELISM,
+) : AbstractCoroutineContextElement(Key) {
+
+  init {
+    require(ioParallelism > 0) { "Expected positive IO parallelism, but got $ioParallelism" }
+    require(defaultParallelism > 0) {
+      "Expected positive Default parallelism, but got $defaultParallelism"
+    }
+  }
+
+  /** [RibDispatchers.IO] limited to `ioParallelism` parallel tasks. */
+  public val IO: RibMeteredDispatcher by lazy {
+    RibMeteredDispatcher(RibDispatchers.IO.limitedParallelism(ioParallelism, "$name:IO"))
+  }
+
+  /** [RibDispatchers.Default] limited to `defaultParallelism` parallel tasks. */
+  public val Default: RibMeteredDispatcher by lazy {
+    RibMeteredDispatcher(
+      RibDispatchers.Default.limitedParallelism(defaultParallelism, "$name:Default"),
+    )
+  }
+
+  /**
+   * Returns [context] with [RibDispatchers.IO] or [RibDispatchers.Default] replaced by [IO] or
+   * [Default]. Any other dispatcher is left unchanged.
+   */
+  public fun confine(context: CoroutineContext): CoroutineContext =
+    when (context[ContinuationInterceptor]) {
+      RibDispatchers.IO -> context + IO
+      RibDispatchers.Default -> context + Default
+      else -> context
+    }
+
+  override fun toString(): String = "RibSubtreeDispatchers($name, IO=$IO, Default=$Default)"
+
+  public companion object Key : CoroutineContext.Key<RibSubtreeDispatchers> {
+    private const val DEFAULT_IO_PARALLELISM = 8
+    private const val DEFAULT_PARALLELISM = 2
+  }
+}
+
+/** A [CoroutineDispatcher] that keeps track of how many tasks are waiting and running on it. */
+public class RibMeteredDispatcher internal constructor(private val delegate: CoroutineDispatcher) :
+  CoroutineDispatcher() {
+  private val queued = AtomicInteger()
+  private val running = AtomicInteger()
+  private val peakQueued = AtomicInteger()
+  private val dispatched = AtomicLong()
+
+  /** Number of tasks dispatched but not started yet. */
+  public val queueDepth: Int
+    get() = queued.get()
+
+  /** Number of tasks currently running. */
+  public val runningCount: Int
+    get() = running.get()
+
+  /** Highest [queueDepth] since creation or since the last [resetPeakQueueDepth]. */
+  public val peakQueueDepth: Int
+    get() = peakQueued.get()
+
+  /** Number of tasks dispatched since creation. */
+  public val dispatchedCount: Long
+    get() = dispatched.get()
+
+  /** Resets [peakQueueDepth] to the current [queueDepth]. */
+  public fun resetPeakQueueDepth() {
+    peakQueued.set(queued.get())
+  }
+
+  override fun isDispatchNeeded(context: CoroutineContext): Boolean =
+    delegate.isDispatchNeeded(context)
+
+  override fun dispatch(context: CoroutineContext, block: Runnable) {
+    val depth = queued.incrementAndGet()
+    var peak = peakQueued.get()
+    while (depth > peak && !peakQueued.compareAndSet(peak, depth)) {
+      peak = peakQueued.get()
+    }
+    dispatched.incrementAndGet()
+    delegate.dispatch(
+      context,
+      Runnable {
+        queued.decrementAndGet()
+        running.incrementAndGet()
+        try {
+          block.run()
+        } finally {
+          running.decrementAndGet()
+        }
+      },
+    )
+  }
+
+  override fun toString(): String =
+    "$delegate[queued=$queueDepth, running=$runningCount, peakQueued=$peakQueueDepth]"
+}
+
+/** Implemented by RIB components whose `coroutineScope` runs within [RibSubtreeDispatchers]. */
+@CoroutinesFriendModuleApi
+public interface RibSubtreeDispatchersHolder {
+  /** The [RibSubtreeDispatchers] of the subtree this component belongs to, if any. */
+  public val subtreeDispatchers: RibSubtreeDispatchers?
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+
+/** Priority with which a worker is started once its binding begins. */
+public enum class WorkerStartPriority {
+  /** Started as soon as it is bound. */
+  CRITICAL,
+
+  /** Started once the first frame has been drawn. */
+  AFTER_FIRST_DRAW,
+
+  /** Started once the first frame has been drawn and the main looper has gone idle. */
+  IDLE,
+}
+
+/**
+ * Holds back workers bound with a [WorkerStartPriority] lower than [WorkerStartPriority.CRITICAL]
+ * until the app signals, through [onFirstFrameDrawn] and [onMainLooperIdle], that startup rendering
+ * is done. Both signals are one-shot: once delivered, workers of the matching priority start
+ * immediately.
+ *
+ * Workers waiting here have not been started yet, so if their scope is cancelled first (e.g. the
+ * RIB detaches) they are dropped without `onStart` nor `onStop` being called.
+ */
+public object RibWorkerStartScheduler {
+  private val firstFrameDrawn = MutableStateFlow(false)
+  private val mainLooperIdle = MutableStateFlow(false)
+
+  /**
+   * When `false`, all priorities start immediately. Only enable it when something delivers the
+   * signals, such as `RibActivity`. Defaults to `false`.
+   */
+  @JvmStatic @Volatile public var isEnabled: Boolean = false
+
+  /** Signals that the first frame has been drawn. */
+  @JvmStatic
+  public fun onFirstFrameDrawn() {
+    firstFrameDrawn.value = true
+  }
+
+  /** Signals that the main looper has gone idle after the first frame. */
+  @JvmStatic
+  public fun onMainLooperIdle() {
+    mainLooperIdle.value = true
+  }
+
+  /** Suspends until workers of [priority] may start. */
+  public suspend fun awaitStart(priority: WorkerStartPriority) {
+    if (!isEnabled || priority == WorkerStartPriority.CRITICAL) return
+    firstFrameDrawn.first { it }
+    if (priority == WorkerStartPriority.IDLE) mainLooperIdle.first { it }
+  }
+
+  /** Clears both signals, e.g. between tests. */
+  @JvmStatic
+  public fun reset() {
+    firstFrameDrawn.value = false
+    mainLooperIdle.value = false
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import org.junit.Test
+
+class InstrumentedRibDispatchersTest {
+  private val dispatchers = InstrumentedRibDispatchers()
+
+  @Test
+  fun dispatch_recordsQueueLatencyAndRunTimePerOwner() = runBlocking {
+    launch(dispatchers.IO + RibCoroutineOwner("FeatureInteractor")) { Thread.sleep(5L) }.join()
+    launch(dispatchers.IO) {}.join()
+
+    val ioStats = dispatchers.taskStats().getValue("IO")
+    val featureStats = ioStats.getValue("FeatureInteractor")
+    assertThat(featureStats.queueLatency.count).isEqualTo(1)
+    assertThat(featureStats.runTime.count).isEqualTo(1)
+    assertThat(featureStats.runTime.totalNanos).isAtLeast(5_000_000L)
+    assertThat(ioStats.getValue(InstrumentedRibDispatchers.UNATTRIBUTED).runTime.count)
+      .isEqualTo(1)
+  }
+
+  @Test
+  fun delay_resumesThroughInstrumentedDispatcher() = runBlocking {
+    launch(dispatchers.IO + RibCoroutineOwner("DelayingInteractor")) { delay(1L) }.join()
+
+    val stats = dispatchers.taskStats().getValue("IO").getValue("DelayingInteractor")
+    assertThat(stats.runTime.count).isEqualTo(2)
+  }
+
+  @Test
+  fun taskStats_returnsCopy() = runBlocking {
+    val taskStats = dispatchers.taskStats()
+    launch(dispatchers.Default) {}.join()
+
+    assertThat(taskStats).isEmpty()
+    assertThat(dispatchers.taskStats()).containsKey("Default")
+  }
+
+  @Test
+  fun histogram_percentile_returnsBucketUpperBound() {
+    val histogram = RibTaskHistogram()
+    histogram.record(500L) // < 1us
+    histogram.record(3_000L) // 3us
+    histogram.record(3_000_000L) // 3ms
+
+    assertThat(histogram.count).isEqualTo(3)
+    assertThat(histogram.percentileMicros(0.5)).isEqualTo(4L)
+    assertThat(histogram.percentileMicros(1.0)).isEqualTo(4_096L)
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import com.uber.autodispose.lifecycle.LifecycleEndedException
+import com.uber.autodispose.lifecycle.LifecycleNotStartedException
+import com.uber.rib.core.internal.CoroutinesFriendModuleApi
+import io.reactivex.Completable
+import org.junit.Assert.assertThrows
+import org.junit.Test
+
+@OptIn(CoroutinesFriendModuleApi::class)
+class LifecycleJobsTest {
+  private val lifecycleJobs = LifecycleJobs<Int>()
+
+  @Test
+  fun jobUntil_beforeStart_throws() {
+    assertThrows(LifecycleNotStartedException::class.java) { lifecycleJobs.jobUntil(1..3) }
+  }
+
+  @Test
+  fun jobUntil_afterEnd_throws() {
+    lifecycleJobs.onLifecycleEvent(3)
+    assertThrows(LifecycleEndedException::class.java) { lifecycleJobs.jobUntil(1..3) }
+  }
+
+  @Test
+  fun jobUntil_sameEnd_sharesJob() {
+    lifecycleJobs.onLifecycleEvent(1)
+    assertThat(lifecycleJobs.jobUntil(1..3)).isSameInstanceAs(lifecycleJobs.jobUntil(1..3))
+  }
+
+  @Test
+  fun onLifecycleEvent_cancelsOnlyJobsEndingAtOrBeforeEvent() {
+    lifecycleJobs.onLifecycleEvent(1)
+    val untilTwo = lifecycleJobs.jobUntil(1..2)
+    val untilFour = lifecycleJobs.jobUntil(1..4)
+
+    lifecycleJobs.onLifecycleEvent(2)
+
+    assertThat(untilTwo.isCancelled).isTrue()
+    assertThat(untilFour.isActive).isTrue()
+
+    lifecycleJobs.onLifecycleEvent(5)
+
+    assertThat(untilFour.isCancelled).isTrue()
+  }
+
+  @Test
+  fun jobUntil_afterRestart_createsNewJob() {
+    lifecycleJobs.onLifecycleEvent(1)
+    val first = lifecycleJobs.jobUntil(1..2)
+    lifecycleJobs.onLifecycleEvent(2)
+    lifecycleJobs.onLifecycleEvent(1)
+
+    val second = lifecycleJobs.jobUntil(1..2)
+
+    assertThat(second).isNotSameInstanceAs(first)
+    assertThat(second.isActive).isTrue()
+  }
+
+  @Test
+  fun completableUntil_sharesTheEndOfItsJob() {
+    lifecycleJobs.onLifecycleEvent(1)
+    val job = lifecycleJobs.jobUntil(1..2)
+    val scope = lifecycleJobs.completableUntil(1..2)
+    assertThat(scope).isSameInstanceAs(lifecycleJobs.completableUntil(1..2))
+    val observer = Completable.wrap(scope).test()
+
+    lifecycleJobs.onLifecycleEvent(2)
+
+    observer.assertComplete()
+    assertThat(job.isCancelled).isTrue()
+  }
+
+  @Test
+  fun completableUntil_afterEnd_throws() {
+    lifecycleJobs.onLifecycleEvent(3)
+    assertThrows(LifecycleEndedException::class.java) { lifecycleJobs.completableUntil(1..3) }
+  }
+}
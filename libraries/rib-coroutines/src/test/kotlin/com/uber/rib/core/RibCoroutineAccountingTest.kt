@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.test.runCurrent
+import kotlinx.coroutines.test.runTest
+import kotlinx.coroutines.withContext
+import org.junit.After
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.mockito.kotlin.mock
+
+@OptIn(ExperimentalCoroutinesApi::class)
+class RibCoroutineAccountingTest {
+  @get:Rule val ribCoroutinesRule = RibCoroutinesRule()
+  private val interactor = AccountedInteractor()
+
+  @Before
+  fun setUp() {
+    RibCoroutineAccounting.isEnabled = true
+  }
+
+  @After
+  fun tearDown() {
+    RibCoroutineAccounting.isEnabled = false
+    RibCoroutineAccounting.listener = null
+    RibCoroutineAccounting.lingerMillis = 1_000L
+  }
+
+  @Test
+  fun snapshot_countsActiveJobsAndFlagsScopesOutlivingLifecycle() = runTest {
+    val release = CompletableDeferred<Unit>()
+    InteractorHelper.attach(interactor, Unit, mock(), null)
+    interactor.coroutineScope.launch { awaitCancellation() }
+    interactor.coroutineScope.launch { withContext(NonCancellable) { release.await() } }
+    runCurrent()
+
+    val whileActive = accountOf(interactor)!!
+    assertThat(whileActive.ownerClassName).isEqualTo(AccountedInteractor::class.java.name)
+    assertThat(whileActive.activeJobCount).isEqualTo(2)
+    assertThat(whileActive.hasOutlivedLifecycle).isFalse()
+
+    InteractorHelper.detach(interactor)
+    runCurrent()
+
+    val afterDetach = accountOf(interactor)!!
+    assertThat(afterDetach.activeJobCount).isEqualTo(1)
+    assertThat(afterDetach.hasOutlivedLifecycle).isTrue()
+
+    release.complete(Unit)
+    runCurrent()
+
+    assertThat(accountOf(interactor)).isNull()
+  }
+
+  @Test
+  fun listener_isNotifiedWhileCoroutinesLingerAfterCancel() = runTest {
+    val release = CompletableDeferred<Unit>()
+    val notified = CountDownLatch(1)
+    var lingering: RibScopeSnapshot? = null
+    RibCoroutineAccounting.lingerMillis = 10L
+    RibCoroutineAccounting.listener = RibScopeListener {
+      lingering = it
+      notified.countDown()
+    }
+    InteractorHelper.attach(interactor, Unit, mock(), null)
+    interactor.coroutineScope.launch { withContext(NonCancellable) { release.await() } }
+    runCurrent()
+
+    InteractorHelper.detach(interactor)
+    runCurrent()
+
+    assertThat(notified.await(5, TimeUnit.SECONDS)).isTrue()
+    assertThat(lingering?.ownerIdentity).isEqualTo(System.identityHashCode(interactor))
+    assertThat(lingering?.activeJobCount).isEqualTo(1)
+    release.complete(Unit)
+    runCurrent()
+  }
+
+  private fun accountOf(owner: Any): RibScopeSnapshot? =
+    RibCoroutineAccounting.snapshot().singleOrNull {
+      it.ownerIdentity == System.identityHashCode(owner)
+    }
+}
+
+private class AccountedInteractor : Interactor<Unit, Router<*>>()
@@ -16,8 +16,11 @@
 package com.uber.rib.core
 
 import com.google.common.truth.Truth.assertThat
+import com.uber.autodispose.ScopeProvider
 import com.uber.autodispose.lifecycle.LifecycleEndedException
 import com.uber.autodispose.lifecycle.LifecycleNotStartedException
+import com.uber.rib.core.internal.CoroutinesFriendModuleApi
+import io.reactivex.subjects.CompletableSubject
 import kotlin.contracts.ExperimentalContracts
 import kotlin.contracts.InvocationKind
 import kotlin.contracts.contract
@@ -36,7 +39,7 @@ import org.junit.runner.RunWith
 import org.junit.runners.Parameterized
 import org.mockito.kotlin.mock
 
-@OptIn(ExperimentalCoroutinesApi::class)
+@OptIn(ExperimentalCoroutinesApi::class, CoroutinesFriendModuleApi::class)
 @RunWith(Parameterized::class)
 class RibCoroutineScopesTest(private val failSilentlyOnLifecycleEnded: Boolean) {
   @get:Rule val ribCoroutinesRule = RibCoroutinesRule()
@@ -80,6 +83,27 @@ class RibCoroutineScopesTest(private val failSilentlyOnLifecycleEnded: Boolean)
     assertThat(job.isCancelled).isTrue()
   }
 
+  @Test
+  fun coroutineScope_whenCalledTwiceWhileActive_returnsSameScope() {
+    interactor.attachAndDetach {
+      assertThat(coroutineScope).isSameInstanceAs(coroutineScope)
+      assertThat(LazyCoroutineScope[this]).isSameInstanceAs(coroutineScope)
+    }
+  }
+
+  @Test
+  fun coroutineScope_forArbitraryScopeProvider_returnsSameScopeUntilCompleted() {
+    val subject = CompletableSubject.create()
+    val scopeProvider = ScopeProvider { subject }
+    val scope = scopeProvider.coroutineScope
+    assertThat(scopeProvider.coroutineScope).isSameInstanceAs(scope)
+
+    subject.onComplete()
+
+    assertThat(scope.isActive).isFalse()
+    assertThat(LazyCoroutineScope[scopeProvider]).isNull()
+  }
+
   companion object {
     @JvmStatic
     @Parameterized.Parameters(name = "failSilentlyOnLifecycleEnded = {0}")
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026. Uber Technologies
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.uber.rib.core
+
+import com.google.common.truth.Truth.assertThat
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.coroutines.ContinuationInterceptor
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import org.junit.Test
+
+class RibSubtreeDispatchersTest {
+  private val dispatchers = RibSubtreeDispatchers("feature", ioParallelism = 2)
+
+  @Test
+  fun io_limitsParallelismAndReportsQueueDepth() = runBlocking {
+    val started = CountDownLatch(2)
+    val release = CountDownLatch(1)
+    val concurrent = AtomicInteger()
+    val maxConcurrent = AtomicInteger()
+    val jobs =
+      List(6) {
+        launch(dispatchers.IO) {
+          val current = concurrent.incrementAndGet()
+          maxConcurrent.accumulateAndGet(current, ::maxOf)
+          started.countDown()
+          release.await(5, TimeUnit.SECONDS)
+          concurrent.decrementAndGet()
+        }
+      }
+
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue()
+    assertThat(dispatchers.IO.runningCount).isEqualTo(2)
+    assertThat(dispatchers.IO.queueDepth).isEqualTo(4)
+    release.countDown()
+    jobs.joinAll()
+
+    assertThat(maxConcurrent.get()).isEqualTo(2)
+    assertThat(dispatchers.IO.queueDepth).isEqualTo(0)
+    assertThat(dispatchers.IO.peakQueueDepth).isAtLeast(4)
+    assertThat(dispatchers.IO.dispatchedCount).isEqualTo(6)
+  }
+
+  @Test
+  fun confine_replacesGlobalDispatchersOnly() {
+    assertThat(dispatchers.confine(RibDispatchers.IO)[ContinuationInterceptor])
+      .isSameInstanceAs(dispatchers.IO)
+    assertThat(dispatchers.confine(RibDispatchers.Default)[ContinuationInterceptor])
+      .isSameInstanceAs(dispatchers.Default)
+    assertThat(dispatchers.confine(Dispatchers.Unconfined)[ContinuationInterceptor])
+      .isSameInstanceAs(Dispatchers.Unconfined)
+  }
+}